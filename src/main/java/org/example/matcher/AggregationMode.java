@@ -0,0 +1,32 @@
+package org.example.matcher;
+
+/**
+ * Defines how matches are aggregated into the final result.
+ */
+public enum AggregationMode {
+
+    /**
+     * Collects the location of every match.
+     */
+    LOCATIONS,
+
+    /**
+     * Counts matches per term exactly, without keeping their locations.
+     */
+    EXACT_COUNTS,
+
+    /**
+     * Estimates the most frequent terms in fixed memory, with error bounds.
+     */
+    APPROXIMATE_COUNTS,
+
+    /**
+     * Collects the location of every match within a memory budget, spilling sorted runs to disk.
+     */
+    SPILLED_LOCATIONS,
+
+    /**
+     * Writes the location of every match in input order as soon as all preceding chunks are matched.
+     */
+    STREAMED_LOCATIONS
+}
@@ -1,12 +1,41 @@
 package org.example.matcher;
 
 import org.example.matcher.impl.AhoCorasickTextMatcher;
-import org.example.matcher.impl.BasicResultAggregator;
+import org.example.matcher.impl.AsynchronousFileProcessor;
+import org.example.matcher.impl.BinaryResultWriter;
+import org.example.matcher.impl.BloomFilterFileProcessor;
 import org.example.matcher.impl.CommandLineConfigProvider;
 import org.example.matcher.impl.ConcurrentFileProcessor;
+import org.example.matcher.impl.CsvResultWriter;
+import org.example.matcher.impl.DictionaryWatcher;
+import org.example.matcher.impl.IncrementalResultAggregator;
+import org.example.matcher.impl.IndexedFileProcessor;
+import org.example.matcher.impl.LocalProcessWorkerLauncher;
+import org.example.matcher.impl.MappedFileProcessor;
+import org.example.matcher.impl.NdjsonResultWriter;
+import org.example.matcher.impl.ReloadableTextMatcher;
+import org.example.matcher.impl.SamplingEstimator;
+import org.example.matcher.impl.ScanMonitor;
+import org.example.matcher.impl.ShardedFileProcessor;
+import org.example.matcher.impl.SpilledResult;
+import org.example.matcher.impl.SpillingResultAggregator;
+import org.example.matcher.impl.StreamingInputProcessor;
+import org.example.matcher.impl.StreamingResultAggregator;
+import org.example.matcher.impl.TermCountResultAggregator;
+import org.example.matcher.impl.TextResultWriter;
+import org.example.matcher.impl.TopTermsResultAggregator;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -16,23 +45,204 @@ import java.util.concurrent.TimeUnit;
  */
 public class CommandLineApplication {
 
-    public static void main(String[] args) throws InterruptedException {
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) {
         ConfigProvider configProvider = CommandLineConfigProvider.fromArgs(args);
         ExecutorService executorService = Executors.newFixedThreadPool(configProvider.getThreadCount());
-        TextMatcher matcher = new AhoCorasickTextMatcher(configProvider.getSearchTerms(), configProvider.isCaseInsensitive());
-        FileProcessor processor = new ConcurrentFileProcessor(matcher, executorService, configProvider.getChunkSize());
+        if (configProvider.getSampleFraction() > 0) {
+            estimateTermCounts(configProvider, executorService);
+            return;
+        }
+
+        TextMatcher matcher;
+        DictionaryWatcher dictionaryWatcher = null;
+        if (configProvider.getReloadInterval() > 0) {
+            ReloadableTextMatcher reloadableMatcher =
+                    new ReloadableTextMatcher(configProvider.getSearchTerms(), configProvider.isCaseInsensitive());
+            dictionaryWatcher = new DictionaryWatcher(Paths.get(configProvider.getSearchFilePath()),
+                    configProvider.getInlineSearchTerms(), reloadableMatcher,
+                    TimeUnit.SECONDS.toMillis(configProvider.getReloadInterval()));
+            matcher = reloadableMatcher;
+        } else {
+            matcher = new AhoCorasickTextMatcher(configProvider.getSearchTerms(), configProvider.isCaseInsensitive());
+        }
+
+        ResultWriter streamWriter = null;
+        ResultAggregator<?> resultAggregator;
+        if (configProvider.getAggregationMode() == AggregationMode.STREAMED_LOCATIONS) {
+            streamWriter = createResultWriter(configProvider);
+            resultAggregator = new StreamingResultAggregator(streamWriter);
+        } else {
+            resultAggregator = createResultAggregator(configProvider);
+        }
+        ScanMonitor<?> scanMonitor = null;
+        long fileSize = StreamingInputProcessor.isStream(configProvider.getFilePath())
+                ? ScanMonitor.UNKNOWN_SIZE
+                : Paths.get(configProvider.getFilePath()).toFile().length();
+        if (configProvider.getDeadline() > 0 || configProvider.getProgressInterval() > 0) {
+            scanMonitor = new ScanMonitor<>(resultAggregator, fileSize,
+                    TimeUnit.SECONDS.toMillis(configProvider.getDeadline()),
+                    TimeUnit.SECONDS.toMillis(configProvider.getProgressInterval()));
+            resultAggregator = scanMonitor;
+        }
+        FileProcessor processor = createFileProcessor(configProvider,
+                scanMonitor != null ? scanMonitor.cancellable(matcher) : matcher, executorService);
+        if (scanMonitor != null && processor instanceof StreamingInputProcessor) {
+            scanMonitor.onDeadline(((StreamingInputProcessor) processor)::stop);
+        }
 
-        ResultAggregator resultAggregator = new BasicResultAggregator();
-        processor.processTextFile(configProvider.getFilePath(), resultAggregator);
+        Object result;
+        try {
+            processor.processTextFile(configProvider.getFilePath(), resultAggregator);
+        } catch (CancellationException e) {
+            // The deadline passed while the file was being read, the results of the completed prefix are written.
+        } finally {
+            executorService.shutdown();
+        }
+        try {
+            result = resultAggregator.computeFinalResult();
+        } finally {
+            executorService.shutdownNow();
+            if (scanMonitor != null) {
+                scanMonitor.close();
+            }
+            if (dictionaryWatcher != null) {
+                dictionaryWatcher.close();
+                ((ReloadableTextMatcher) matcher).close();
+            }
+        }
 
-        executorService.shutdown();
-        if (executorService.awaitTermination(1, TimeUnit.MINUTES)) {
-            Map<String, List<Location>> result = resultAggregator.computeFinalResult();
-            System.out.println("--------------------------------");
-            if (result.isEmpty()) {
-                System.out.println("No matches.");
+        try (ResultWriter writer = streamWriter != null ? streamWriter : createResultWriter(configProvider)) {
+            switch (configProvider.getAggregationMode()) {
+                case LOCATIONS:
+                    ((Map<String, List<Location>>) result).forEach(writer::writeLocations);
+                    break;
+                case SPILLED_LOCATIONS:
+                    try (SpilledResult spilledResult = (SpilledResult) result) {
+                        spilledResult.writeTo(writer);
+                    }
+                    break;
+                case STREAMED_LOCATIONS:
+                    // Locations were written while the input was processed.
+                    break;
+                default:
+                    ((List<TermFrequency>) result).forEach(writer::writeFrequency);
+                    break;
             }
-            result.forEach((k, v) -> System.out.printf("%-15s ---> %s%n", k, v));
+            if (scanMonitor != null && scanMonitor.isPartial()) {
+                writer.writePartialScan(scanMonitor.getReachedOffset(), fileSize);
+            }
+        }
+    }
+
+    private static void estimateTermCounts(ConfigProvider configProvider, ExecutorService executorService) {
+        TextMatcher matcher = new AhoCorasickTextMatcher(configProvider.getSearchTerms(), configProvider.isCaseInsensitive());
+        SamplingEstimator estimator = new SamplingEstimator(matcher, executorService, SamplingEstimator.DEFAULT_CHUNK_SIZE,
+                configProvider.getSampleFraction(), configProvider.getTargetError(), configProvider.getSampleSeed(),
+                configProvider.getTopCount());
+        List<TermFrequency> estimates;
+        try {
+            estimates = estimator.estimate(configProvider.getFilePath());
+        } finally {
+            executorService.shutdown();
+        }
+        try (ResultWriter writer = createResultWriter(configProvider)) {
+            estimates.forEach(writer::writeFrequency);
+        }
+    }
+
+    private static FileProcessor createFileProcessor(ConfigProvider configProvider, TextMatcher matcher,
+                                                     ExecutorService executorService) {
+        if (StreamingInputProcessor.isStream(configProvider.getFilePath())) {
+            return new StreamingInputProcessor(matcher, executorService,
+                    StreamingInputProcessor.DEFAULT_BLOCK_SIZE, 2 * configProvider.getThreadCount());
+        }
+        if (configProvider.getProcessCount() > 1) {
+            int threadsPerProcess = Math.max(1, configProvider.getThreadCount() / configProvider.getProcessCount());
+            return new ShardedFileProcessor(new LocalProcessWorkerLauncher(), executorService,
+                    configProvider.getSearchTerms(), configProvider.isCaseInsensitive(),
+                    configProvider.getProcessCount(), threadsPerProcess, configProvider.getChunkSize());
+        }
+        if (configProvider.getContextLines() > 0 || configProvider.getContextBytes() > 0) {
+            return new MappedFileProcessor(matcher, executorService, MappedFileProcessor.DEFAULT_CHUNK_SIZE,
+                    configProvider.getContextLines(), configProvider.getContextBytes());
+        }
+        if (configProvider.isBloomIndexEnabled()) {
+            return new BloomFilterFileProcessor(matcher, executorService, configProvider.getSearchTerms(),
+                    BloomFilterFileProcessor.DEFAULT_CHUNK_SIZE);
+        }
+        if (configProvider.isAsyncReadEnabled()) {
+            return new AsynchronousFileProcessor(matcher, executorService,
+                    AsynchronousFileProcessor.DEFAULT_BLOCK_SIZE, 2 * configProvider.getThreadCount());
+        }
+        if (configProvider.isLineIndexEnabled()) {
+            return new IndexedFileProcessor(matcher, executorService, configProvider.getChunkSize());
+        }
+        return new ConcurrentFileProcessor(matcher, executorService, configProvider.getChunkSize());
+    }
+
+    private static ResultAggregator<?> createResultAggregator(ConfigProvider configProvider) {
+        switch (configProvider.getAggregationMode()) {
+            case EXACT_COUNTS:
+                return new TermCountResultAggregator(configProvider.getTopCount());
+            case APPROXIMATE_COUNTS:
+                return new TopTermsResultAggregator(configProvider.getTopCount());
+            case SPILLED_LOCATIONS:
+                return new SpillingResultAggregator(configProvider.getMemoryBudget());
+            default:
+                return new IncrementalResultAggregator();
+        }
+    }
+
+    private static ResultWriter createResultWriter(ConfigProvider configProvider) {
+        WritableByteChannel channel = openOutput(configProvider.getOutputPath());
+        switch (configProvider.getOutputFormat()) {
+            case NDJSON:
+                return new NdjsonResultWriter(channel);
+            case CSV:
+                return new CsvResultWriter(channel);
+            case BINARY:
+                return new BinaryResultWriter(channel);
+            default:
+                return new TextResultWriter(channel);
+        }
+    }
+
+    private static WritableByteChannel openOutput(String outputPath) {
+        if (outputPath == null) {
+            return new StandardOutputChannel();
+        }
+        try {
+            return FileChannel.open(Paths.get(outputPath),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the output file: " + outputPath, e);
+        }
+    }
+
+    /**
+     * Writes to {@link System#out} and flushes it after every write, so streamed results appear right away.
+     * Closing the channel leaves standard output open.
+     */
+    private static final class StandardOutputChannel implements WritableByteChannel {
+
+        private final WritableByteChannel delegate = Channels.newChannel(System.out);
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int written = delegate.write(src);
+            System.out.flush();
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            System.out.flush();
         }
     }
-}
\ No newline at end of file
+}
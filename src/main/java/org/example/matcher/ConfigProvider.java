@@ -16,4 +16,90 @@ public interface ConfigProvider {
     String getFilePath();
 
     Set<String> getSearchTerms();
+
+    AggregationMode getAggregationMode();
+
+    int getTopCount();
+
+    OutputFormat getOutputFormat();
+
+    /**
+     * Returns the path of the file results are written to, or <code>null</code> to write them to standard output.
+     */
+    String getOutputPath();
+
+    /**
+     * Whether a line offset index stored next to the file is used, and created if missing.
+     */
+    boolean isLineIndexEnabled();
+
+    /**
+     * Returns the number of worker processes the file is split across, 1 to scan it in the current process.
+     */
+    int getProcessCount();
+
+    /**
+     * Whether the file is read in large asynchronous blocks that overlap reading with matching.
+     */
+    boolean isAsyncReadEnabled();
+
+    /**
+     * Returns the path of the file holding one search term per line, or <code>null</code> if terms are only given inline.
+     */
+    String getSearchFilePath();
+
+    /**
+     * Returns the interval in seconds at which the search term file is checked for changes, 0 to disable reloading.
+     */
+    int getReloadInterval();
+
+    /**
+     * Returns the search terms given directly rather than in the search term file.
+     */
+    Set<String> getInlineSearchTerms();
+
+    /**
+     * Returns the number of bytes used to buffer locations before they are spilled to disk.
+     */
+    long getMemoryBudget();
+
+    /**
+     * Returns the number of lines captured before and after the line of every match, 0 to capture no line context.
+     */
+    int getContextLines();
+
+    /**
+     * Returns the number of bytes captured before and after every match, 0 to capture no byte context.
+     */
+    int getContextBytes();
+
+    /**
+     * Returns the maximum fraction of the file sampled to estimate term counts, 0 to scan the whole file.
+     */
+    double getSampleFraction();
+
+    /**
+     * Returns the relative error at which sampling stops early, 0 to always sample the full fraction.
+     */
+    double getTargetError();
+
+    /**
+     * Returns the seed of the random order in which the file is sampled.
+     */
+    long getSampleSeed();
+
+    /**
+     * Returns the number of seconds after which the scan is cut off and partial results are written, 0 for no deadline.
+     */
+    int getDeadline();
+
+    /**
+     * Returns the interval in seconds at which scan progress is logged, 0 to log no progress.
+     */
+    int getProgressInterval();
+
+    /**
+     * Whether a per-chunk Bloom filter index stored next to the file is used to skip chunks, and created if missing.
+     */
+    boolean isBloomIndexEnabled();
 }
@@ -11,5 +11,5 @@ public interface FileProcessor {
      * @param filePath         the path to the text file to be processed
      * @param resultAggregator the aggregator to collect and combine processing results
      */
-    void processTextFile(String filePath, ResultAggregator resultAggregator);
+    void processTextFile(String filePath, ResultAggregator<?> resultAggregator);
 }
@@ -1,19 +1,38 @@
 package org.example.matcher;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
  * Represents a location within a text, including the line and character offsets.
  * The character offset is measured from the beginning of the file.
+ * Matches found after the search terms were reloaded also record the version of the dictionary that produced them.
+ * A location may carry the text surrounding the match, which is not part of its identity.
  */
 public final class Location {
 
     final int lineOffset;
     final long charOffset;
+    final int dictionaryVersion;
+    final ByteBuffer context;
 
     public Location(int lineOffset, long charOffset) {
+        this(lineOffset, charOffset, 0);
+    }
+
+    public Location(int lineOffset, long charOffset, int dictionaryVersion) {
+        this(lineOffset, charOffset, dictionaryVersion, null);
+    }
+
+    /**
+     * @param context the UTF-8 encoded text surrounding the match, or <code>null</code>. The remaining bytes are used
+     *                without copying, so the buffer may be a slice of a memory-mapped file.
+     */
+    public Location(int lineOffset, long charOffset, int dictionaryVersion, ByteBuffer context) {
         this.lineOffset = lineOffset;
         this.charOffset = charOffset;
+        this.dictionaryVersion = dictionaryVersion;
+        this.context = context == null ? null : context.slice().asReadOnlyBuffer();
     }
 
     public int getLineOffset() {
@@ -24,6 +43,20 @@ public final class Location {
         return charOffset;
     }
 
+    /**
+     * Returns the version of the dictionary that produced the match, 0 for the initial search terms.
+     */
+    public int getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    /**
+     * Returns the UTF-8 encoded text surrounding the match as a read-only buffer, or <code>null</code> if it was not captured.
+     */
+    public ByteBuffer getContext() {
+        return context == null ? null : context.duplicate();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -33,16 +66,20 @@ public final class Location {
             return false;
         }
         Location location = (Location) o;
-        return lineOffset == location.lineOffset && charOffset == location.charOffset;
+        return lineOffset == location.lineOffset && charOffset == location.charOffset
+                && dictionaryVersion == location.dictionaryVersion;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(lineOffset, charOffset);
+        return Objects.hash(lineOffset, charOffset, dictionaryVersion);
     }
 
     @Override
     public String toString() {
+        if (dictionaryVersion != 0) {
+            return String.format("[lineOffset=%d, charOffset=%d, dictionaryVersion=%d]", lineOffset, charOffset, dictionaryVersion);
+        }
         return String.format("[lineOffset=%d, charOffset=%d]", lineOffset, charOffset);
     }
 }
\ No newline at end of file
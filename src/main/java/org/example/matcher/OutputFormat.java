@@ -0,0 +1,27 @@
+package org.example.matcher;
+
+/**
+ * Defines the format in which results are written.
+ */
+public enum OutputFormat {
+
+    /**
+     * Human-readable text, one line per term.
+     */
+    TEXT,
+
+    /**
+     * Newline-delimited JSON, one object per match or term count.
+     */
+    NDJSON,
+
+    /**
+     * Comma-separated values with a header row.
+     */
+    CSV,
+
+    /**
+     * Compact binary records with variable-length integers.
+     */
+    BINARY
+}
@@ -7,10 +7,20 @@ import java.util.concurrent.Future;
 /**
  * Interface for aggregating results from multiple partial processing tasks.
  * It collects and combines partial results into a final comprehensive result.
+ *
+ * @param <R> the type of the final result
  */
-public interface ResultAggregator {
+public interface ResultAggregator<R> {
 
     void aggregateResults(Future<Map<String, List<Location>>> partialResults);
 
-    Map<String, List<Location>> computeFinalResult();
-}
\ No newline at end of file
+    /**
+     * Aggregates the results of a chunk that ends at the given byte offset of the file.
+     * Chunks must be passed in file order. Aggregators that track progress may use the offset.
+     */
+    default void aggregateResults(Future<Map<String, List<Location>>> partialResults, long endOffset) {
+        aggregateResults(partialResults);
+    }
+
+    R computeFinalResult();
+}
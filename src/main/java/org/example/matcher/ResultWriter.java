@@ -0,0 +1,39 @@
+package org.example.matcher;
+
+import java.util.List;
+
+/**
+ * Writes aggregated results in a specific output format.
+ * Consecutive locations written for the same term form one group in the output.
+ */
+public interface ResultWriter extends AutoCloseable {
+
+    void writeLocation(String term, Location location);
+
+    default void writeLocations(String term, List<Location> locations) {
+        for (Location location : locations) {
+            writeLocation(term, location);
+        }
+    }
+
+    void writeFrequency(TermFrequency frequency);
+
+    /**
+     * Marks the results as partial: only the first <code>scannedBytes</code> bytes of the file were scanned.
+     *
+     * @param fileSize the size of the file, or -1 if the input is a stream of unknown size
+     */
+    void writePartialScan(long scannedBytes, long fileSize);
+
+    /**
+     * Writes all buffered output without closing it. Writers that do not buffer need not override it.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Flushes all buffered output and releases the underlying resources.
+     */
+    @Override
+    void close();
+}
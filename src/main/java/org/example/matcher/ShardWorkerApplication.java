@@ -0,0 +1,23 @@
+package org.example.matcher;
+
+import org.example.matcher.impl.ShardWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The entry point of a worker process launched by a sharded scan.
+ * Reads the shard request from standard input and writes binary results to standard output.
+ */
+public class ShardWorkerApplication {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardWorkerApplication.class);
+
+    public static void main(String[] args) {
+        try {
+            ShardWorker.serve(System.in, System.out);
+        } catch (RuntimeException e) {
+            logger.error("Shard worker failed", e);
+            System.exit(1);
+        }
+    }
+}
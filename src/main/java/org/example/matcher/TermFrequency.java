@@ -0,0 +1,73 @@
+package org.example.matcher;
+
+import java.util.Objects;
+
+/**
+ * Represents the number of occurrences of a search term.
+ * The count may be an estimate, in which case the true number of occurrences lies within
+ * <code>[lowerBound, upperBound]</code>. For exact counts all three values are equal.
+ */
+public final class TermFrequency {
+
+    final String term;
+    final long count;
+    final long lowerBound;
+    final long upperBound;
+
+    public TermFrequency(String term, long count) {
+        this(term, count, count, count);
+    }
+
+    public TermFrequency(String term, long count, long lowerBound, long upperBound) {
+        this.term = term;
+        this.count = count;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getLowerBound() {
+        return lowerBound;
+    }
+
+    public long getUpperBound() {
+        return upperBound;
+    }
+
+    public boolean isExact() {
+        return lowerBound == count && upperBound == count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TermFrequency that = (TermFrequency) o;
+        return count == that.count && lowerBound == that.lowerBound && upperBound == that.upperBound
+                && term.equals(that.term);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(term, count, lowerBound, upperBound);
+    }
+
+    @Override
+    public String toString() {
+        if (isExact()) {
+            return String.format("[term=%s, count=%d]", term, count);
+        }
+        return String.format("[term=%s, count=%d, lowerBound=%d, upperBound=%d]", term, count, lowerBound, upperBound);
+    }
+}
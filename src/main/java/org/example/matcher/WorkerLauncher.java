@@ -0,0 +1,12 @@
+package org.example.matcher;
+
+import java.io.IOException;
+
+/**
+ * Starts worker processes that scan a shard of a file.
+ * A worker reads a single request from its standard input and writes its results to its standard output.
+ */
+public interface WorkerLauncher {
+
+    Process launch() throws IOException;
+}
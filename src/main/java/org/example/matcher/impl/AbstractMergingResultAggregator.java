@@ -0,0 +1,95 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Base class for aggregators that merge every partial result as soon as its chunk completes,
+ * instead of keeping all partial results alive until {@link #computeFinalResult()} is called.
+ *
+ * <p>Partial results passed as {@link CompletableFuture} are merged on the thread that completes them,
+ * so {@link #merge(Map)} must be thread-safe. Any other {@link Future} is merged when the final result is computed.
+ * When a chunk fails, or the final result cannot be built, {@link #discard()} is called.
+ *
+ * @param <R> the type of the final result
+ */
+public abstract class AbstractMergingResultAggregator<R> implements ResultAggregator<R> {
+
+    private final List<CompletableFuture<Void>> pendingMerges = new ArrayList<>();
+    private final List<Future<Map<String, List<Location>>>> deferredResults = new ArrayList<>();
+    private R result;
+    private boolean resultComputed = false;
+
+    @Override
+    public synchronized void aggregateResults(Future<Map<String, List<Location>>> partialResults) {
+        if (resultComputed) {
+            throw new IllegalStateException("Attempted to add results after final computation.");
+        }
+
+        if (partialResults instanceof CompletableFuture) {
+            CompletableFuture<Void> merged =
+                    ((CompletableFuture<Map<String, List<Location>>>) partialResults).thenAccept(this::merge);
+            merged.exceptionally(e -> {
+                discard();
+                return null;
+            });
+            pendingMerges.add(merged);
+        } else {
+            deferredResults.add(partialResults);
+        }
+    }
+
+    @Override
+    public synchronized R computeFinalResult() {
+        if (resultComputed) {
+            return result;
+        }
+
+        try {
+            CompletableFuture.allOf(pendingMerges.toArray(new CompletableFuture<?>[0])).get();
+            for (Future<Map<String, List<Location>>> future : deferredResults) {
+                merge(future.get());
+            }
+            pendingMerges.clear();
+            deferredResults.clear();
+            result = buildResult();
+        } catch (InterruptedException e) {
+            discard();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Result aggregation was interrupted.", e);
+        } catch (ExecutionException e) {
+            discard();
+            throw new IllegalStateException("Error while processing a chunk.", e);
+        } catch (RuntimeException e) {
+            discard();
+            throw e;
+        }
+
+        resultComputed = true;
+        return result;
+    }
+
+    /**
+     * Merges a single partial result. May be called concurrently from multiple threads.
+     */
+    protected abstract void merge(Map<String, List<Location>> partialResult);
+
+    /**
+     * Builds the final result once all partial results have been merged.
+     */
+    protected abstract R buildResult();
+
+    /**
+     * Releases everything held for the final result, which will not be built. May be called more than once,
+     * and concurrently with {@link #merge(Map)}.
+     */
+    protected void discard() {
+    }
+}
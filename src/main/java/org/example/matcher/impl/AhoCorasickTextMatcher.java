@@ -32,8 +32,16 @@ public class AhoCorasickTextMatcher implements TextMatcher {
 
     private final Trie trie;
     private final int shortestKeywordLength;
+    private final int dictionaryVersion;
 
     public AhoCorasickTextMatcher(Set<String> searchTerms, boolean caseInsensitive) {
+        this(searchTerms, caseInsensitive, 0);
+    }
+
+    /**
+     * @param dictionaryVersion the version recorded in every {@link Location} found by this matcher
+     */
+    public AhoCorasickTextMatcher(Set<String> searchTerms, boolean caseInsensitive, int dictionaryVersion) {
         if (searchTerms == null || searchTerms.isEmpty()) {
             throw new IllegalArgumentException("Search terms must be specified.");
         }
@@ -56,6 +64,7 @@ public class AhoCorasickTextMatcher implements TextMatcher {
 
         this.trie = trieBuilder.build();
         this.shortestKeywordLength = minLength;
+        this.dictionaryVersion = dictionaryVersion;
     }
 
     @Override
@@ -76,7 +85,8 @@ public class AhoCorasickTextMatcher implements TextMatcher {
             if (line.length() >= shortestKeywordLength) {
                 for (Emit match : trie.parseText(line)) {
                     String matchedPattern = match.getKeyword();
-                    Location location = new Location(initialLineOffset + lineIndex, currentCharOffset + match.getStart());
+                    Location location = new Location(initialLineOffset + lineIndex, currentCharOffset + match.getStart(),
+                            dictionaryVersion);
                     occurrences.computeIfAbsent(matchedPattern, k -> new ArrayList<>()).add(location);
                 }
             }
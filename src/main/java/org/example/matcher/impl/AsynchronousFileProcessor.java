@@ -0,0 +1,288 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.FileProcessor;
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Processes a text file by reading fixed-size blocks with an {@link AsynchronousFileChannel}, so that
+ * several reads are in flight while earlier blocks are matched.
+ *
+ * <p>Blocks are read into a {@link DirectBufferPool} and decoded by the worker threads in a single pass,
+ * after which the buffer returns to the pool while the block is matched. Reading stops while all buffers are in use.
+ *
+ * <p>Lines do not follow block boundaries. Every worker matches the complete lines inside its block with offsets
+ * relative to the block and keeps the bytes before its first and after its last line terminator.
+ * Blocks are then positioned in file order, and the lines crossing block boundaries are stitched and matched there.
+ */
+public class AsynchronousFileProcessor implements FileProcessor {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 22;
+
+    private static final Logger logger = LoggerFactory.getLogger(AsynchronousFileProcessor.class);
+
+    private final TextMatcher matcher;
+    private final ExecutorService executorService;
+    private final int blockSize;
+    private final int bufferCount;
+
+    public AsynchronousFileProcessor(TextMatcher matcher, ExecutorService executorService, int blockSize, int bufferCount) {
+        if (matcher == null) {
+            throw new IllegalArgumentException("Matcher must not be null.");
+        }
+        if (executorService == null || executorService.isShutdown()) {
+            throw new IllegalArgumentException("ExecutorService must not be null or in shut down state.");
+        }
+        if (blockSize <= 0 || bufferCount <= 0) {
+            throw new IllegalArgumentException("Block size and buffer count must be positive.");
+        }
+
+        this.matcher = matcher;
+        this.executorService = executorService;
+        this.blockSize = blockSize;
+        this.bufferCount = bufferCount;
+    }
+
+    /**
+     * Returns once all blocks have been read and handed over to the worker threads.
+     */
+    @Override
+    public void processTextFile(String filePath, ResultAggregator<?> resultAggregator) {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("The specified file does not exist: " + filePath);
+        }
+        if (resultAggregator == null) {
+            throw new IllegalArgumentException("ResultAggregator must not be null.");
+        }
+
+        logger.info("Processing file: {} in blocks of {} bytes with {} buffers", filePath, blockSize, bufferCount);
+        DirectBufferPool pool = new DirectBufferPool(bufferCount, blockSize);
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<CompletableFuture<?>> submissions = new ArrayList<>();
+            CompletableFuture<Position> position =
+                    CompletableFuture.completedFuture(new Position(new Location(0, 0), new byte[0]));
+
+            for (long start = 0; start < size; start += blockSize) {
+                ByteBuffer buffer = pool.acquire();
+                CompletableFuture<CompletableFuture<Block>> submission = read(channel, buffer, start, pool)
+                        .thenApply(block -> CompletableFuture.supplyAsync(() -> scan(block, pool), executorService));
+                submissions.add(submission);
+
+                CompletableFuture<Placement> placement = submission
+                        .thenCompose(block -> block)
+                        .thenCombine(position, this::place);
+                // The matches of a block end at its last line terminator, so they are only known to cover its start.
+                resultAggregator.aggregateResults(placement.thenApply(p -> p.matches), start);
+                position = placement.thenApply(p -> p.next);
+            }
+            resultAggregator.aggregateResults(position.thenApply(this::matchRemainder), size);
+
+            CompletableFuture.allOf(submissions.toArray(new CompletableFuture<?>[0])).join();
+        } catch (IOException e) {
+            throw new UncheckedIOException("File processing failed: " + filePath, e);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw (UncheckedIOException) e.getCause();
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a read buffer.", e);
+        }
+    }
+
+    /**
+     * Fills the buffer starting at the given file position, or up to the end of the file.
+     */
+    private static CompletableFuture<ByteBuffer> read(AsynchronousFileChannel channel, ByteBuffer buffer,
+                                                     long position, DirectBufferPool pool) {
+        CompletableFuture<ByteBuffer> result = new CompletableFuture<>();
+        channel.read(buffer, position, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer read, Void attachment) {
+                if (read < 0 || !buffer.hasRemaining()) {
+                    result.complete(buffer.flip());
+                } else {
+                    channel.read(buffer, position + buffer.position(), null, this);
+                }
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                pool.release(buffer);
+                result.completeExceptionally(new UncheckedIOException("Failed to read at position " + position,
+                        e instanceof IOException ? (IOException) e : new IOException(e)));
+            }
+        });
+        return result;
+    }
+
+    private Block scan(ByteBuffer buffer, DirectBufferPool pool) {
+        byte[] head;
+        byte[] tail;
+        List<String> lines;
+        try {
+            int limit = buffer.limit();
+            int headEnd = firstLineEnd(buffer);
+            if (headEnd < 0) {
+                return new Block(null, copy(buffer, 0, limit), Map.of(), 0, 0);
+            }
+            int tailStart = lastLineEnd(buffer);
+
+            ByteBuffer body = buffer.duplicate();
+            body.position(headEnd).limit(tailStart);
+            head = copy(buffer, 0, headEnd);
+            tail = copy(buffer, tailStart, limit);
+            lines = ByteLineReader.readLines(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode block.", e);
+        } finally {
+            pool.release(buffer);
+        }
+
+        Map<String, List<Location>> matches = lines.isEmpty() ? Map.of() : matcher.findMatches(lines, 0, 0);
+        return new Block(head, tail, matches, lines.size(), charCount(lines));
+    }
+
+    private Placement place(Block block, Position previous) {
+        if (block.head == null) {
+            previous.carry.writeBytes(block.tail);
+            return new Placement(Map.of(), previous);
+        }
+
+        previous.carry.writeBytes(block.head);
+        List<String> stitchedLines = readLines(previous.carry.toByteArray());
+        Map<String, List<Location>> stitchedMatches = stitchedLines.isEmpty() ? Map.of()
+                : matcher.findMatches(stitchedLines, previous.base.getLineOffset(), previous.base.getCharOffset());
+        Location bodyStart = PartialResults.advance(previous.base, stitchedLines.size(), charCount(stitchedLines));
+        Map<String, List<Location>> matches =
+                PartialResults.concat(stitchedMatches, PartialResults.relocate(block.matches, bodyStart));
+        Location next = PartialResults.advance(bodyStart, block.lineCount, block.charCount);
+        return new Placement(matches, new Position(next, block.tail));
+    }
+
+    private Map<String, List<Location>> matchRemainder(Position position) {
+        List<String> lines = readLines(position.carry.toByteArray());
+        return lines.isEmpty() ? Map.of()
+                : matcher.findMatches(lines, position.base.getLineOffset(), position.base.getCharOffset());
+    }
+
+    /**
+     * Returns the end of the first line terminator, or -1 if the buffer holds no complete terminator.
+     * A <code>\r</code> at the end of the buffer may be followed by <code>\n</code> in the next block.
+     */
+    private static int firstLineEnd(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n') {
+                return i + 1;
+            }
+            if (b == '\r' && i + 1 < limit) {
+                return buffer.get(i + 1) == '\n' ? i + 2 : i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastLineEnd(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int i = limit - 1; i >= 0; i--) {
+            byte b = buffer.get(i);
+            if (b == '\n' || (b == '\r' && i + 1 < limit)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static byte[] copy(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.duplicate().position(start).get(bytes);
+        return bytes;
+    }
+
+    private static List<String> readLines(byte[] bytes) {
+        try {
+            return ByteLineReader.readLines(ByteBuffer.wrap(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode lines crossing a block boundary.", e);
+        }
+    }
+
+    private static long charCount(List<String> lines) {
+        long count = 0;
+        for (String line : lines) {
+            count += line.length() + System.lineSeparator().length();
+        }
+        return count;
+    }
+
+    /**
+     * Matches of the complete lines of a block, relative to the first of them, and the bytes around them.
+     */
+    private static final class Block {
+
+        private final byte[] head;
+        private final byte[] tail;
+        private final Map<String, List<Location>> matches;
+        private final int lineCount;
+        private final long charCount;
+
+        private Block(byte[] head, byte[] tail, Map<String, List<Location>> matches, int lineCount, long charCount) {
+            this.head = head;
+            this.tail = tail;
+            this.matches = matches;
+            this.lineCount = lineCount;
+            this.charCount = charCount;
+        }
+    }
+
+    /**
+     * Bytes of the unterminated line carried over to the next block, and the location where they start.
+     * Blocks are placed one after the other, so a line spanning several blocks grows the same carry buffer.
+     */
+    private static final class Position {
+
+        private final Location base;
+        private final ByteArrayOutputStream carry = new ByteArrayOutputStream();
+
+        private Position(Location base, byte[] carry) {
+            this.base = base;
+            this.carry.writeBytes(carry);
+        }
+    }
+
+    private static final class Placement {
+
+        private final Map<String, List<Location>> matches;
+        private final Position next;
+
+        private Placement(Map<String, List<Location>> matches, Position next) {
+            this.matches = matches;
+            this.next = next;
+        }
+    }
+}
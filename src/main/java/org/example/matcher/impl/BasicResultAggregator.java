@@ -15,7 +15,7 @@ import java.util.concurrent.Future;
  * A thread-safe implementation of the {@link ResultAggregator} interface.
  * This class collects partial results from multiple tasks and aggregates them into a final result.
  */
-public class BasicResultAggregator implements ResultAggregator {
+public class BasicResultAggregator implements ResultAggregator<Map<String, List<Location>>> {
 
     private final List<Future<Map<String, List<Location>>>> futures = new ArrayList<>();
     private final Map<String, List<Location>> result = new HashMap<>();
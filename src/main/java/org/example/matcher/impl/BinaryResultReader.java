@@ -0,0 +1,200 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads records written by {@link BinaryResultWriter}, one at a time.
+ * Term definitions are resolved internally and never returned as records.
+ */
+public class BinaryResultReader implements AutoCloseable {
+
+    /**
+     * Types of records returned by {@link #next()}.
+     */
+    public enum RecordType {
+        LOCATION,
+        FREQUENCY,
+        SCANNED_RANGE,
+        PARTIAL_SCAN
+    }
+
+    private final InputStream in;
+    private final List<String> terms = new ArrayList<>();
+    private String term;
+    private Location location;
+    private TermFrequency frequency;
+    private int scannedLines;
+    private long scannedChars;
+    private long scannedBytes;
+    private long fileSize;
+    private int dictionaryVersion;
+    private ByteBuffer context;
+
+    public BinaryResultReader(InputStream in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream must not be null.");
+        }
+        this.in = new BufferedInputStream(in, 1 << 16);
+        readHeader();
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return the type of the record, or <code>null</code> at the end of the input
+     */
+    public RecordType next() {
+        try {
+            while (true) {
+                int tag = in.read();
+                switch (tag) {
+                    case -1:
+                        return null;
+                    case BinaryResultWriter.TERM_TAG:
+                        readTermDefinition();
+                        break;
+                    case BinaryResultWriter.LOCATION_TAG:
+                        term = readTerm();
+                        location = new Location(Math.toIntExact(readVarLong()), readVarLong(), dictionaryVersion, context);
+                        context = null;
+                        return RecordType.LOCATION;
+                    case BinaryResultWriter.FREQUENCY_TAG:
+                        term = readTerm();
+                        frequency = new TermFrequency(term, readVarLong(), readVarLong(), readVarLong());
+                        return RecordType.FREQUENCY;
+                    case BinaryResultWriter.DICTIONARY_VERSION_TAG:
+                        dictionaryVersion = Math.toIntExact(readVarLong());
+                        break;
+                    case BinaryResultWriter.CONTEXT_TAG:
+                        context = ByteBuffer.wrap(readBytes(Math.toIntExact(readVarLong())));
+                        break;
+                    case BinaryResultWriter.SCANNED_RANGE_TAG:
+                        scannedLines = Math.toIntExact(readVarLong());
+                        scannedChars = readVarLong();
+                        return RecordType.SCANNED_RANGE;
+                    case BinaryResultWriter.PARTIAL_SCAN_TAG:
+                        scannedBytes = readVarLong();
+                        fileSize = readVarLong();
+                        if (fileSize == 0) {
+                            fileSize = ScanMonitor.UNKNOWN_SIZE;
+                        }
+                        return RecordType.PARTIAL_SCAN;
+                    default:
+                        throw new IOException("Unknown record tag: " + tag);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read results.", e);
+        }
+    }
+
+    /**
+     * Returns the term of the current location or frequency record.
+     */
+    public String getTerm() {
+        return term;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public TermFrequency getFrequency() {
+        return frequency;
+    }
+
+    public int getScannedLines() {
+        return scannedLines;
+    }
+
+    public long getScannedChars() {
+        return scannedChars;
+    }
+
+    public long getScannedBytes() {
+        return scannedBytes;
+    }
+
+    /**
+     * Returns the file size of the current partial scan record, or -1 if the input was a stream of unknown size.
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close the result input.", e);
+        }
+    }
+
+    private void readHeader() {
+        try {
+            byte[] header = in.readNBytes(BinaryResultWriter.MAGIC.length + 1);
+            if (header.length != BinaryResultWriter.MAGIC.length + 1
+                    || !Arrays.equals(header, 0, BinaryResultWriter.MAGIC.length, BinaryResultWriter.MAGIC, 0, BinaryResultWriter.MAGIC.length)) {
+                throw new IOException("Input is not in the binary result format.");
+            }
+            byte version = header[BinaryResultWriter.MAGIC.length];
+            if (version < 1 || version > BinaryResultWriter.VERSION) {
+                throw new IOException("Unsupported binary result format version: " + version);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read results.", e);
+        }
+    }
+
+    private void readTermDefinition() throws IOException {
+        int termId = Math.toIntExact(readVarLong());
+        if (termId != terms.size()) {
+            throw new IOException("Unexpected term id: " + termId);
+        }
+        terms.add(new String(readBytes(Math.toIntExact(readVarLong())), StandardCharsets.UTF_8));
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Unexpected end of input in record.");
+        }
+        return bytes;
+    }
+
+    private String readTerm() throws IOException {
+        int termId = Math.toIntExact(readVarLong());
+        if (termId >= terms.size()) {
+            throw new IOException("Undefined term id: " + termId);
+        }
+        return terms.get(termId);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Unexpected end of input in record.");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer.");
+    }
+}
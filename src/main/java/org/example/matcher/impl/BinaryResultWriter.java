@@ -0,0 +1,127 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes results as compact binary records.
+ *
+ * <p>The output starts with the magic bytes <code>TMR</code> followed by a format version byte.
+ * Every record starts with a tag byte; all integers are unsigned variable-length (7 bits per byte, little-endian):
+ * <ul>
+ *   <li><code>1</code> term: term id, UTF-8 length, UTF-8 bytes. Written before the first record of a term,
+ *   ids are assigned sequentially from 0,</li>
+ *   <li><code>2</code> location: term id, line offset, char offset,</li>
+ *   <li><code>3</code> frequency: term id, count, lower bound, upper bound,</li>
+ *   <li><code>4</code> scanned range: number of lines and chars scanned to produce the preceding records
+ *   (since version 2),</li>
+ *   <li><code>5</code> dictionary version of the following location records. Only written when it changes,
+ *   the initial version is 0 (since version 3),</li>
+ *   <li><code>6</code> context of the following location record: UTF-8 length, UTF-8 bytes (since version 4),</li>
+ *   <li><code>7</code> partial scan: number of bytes scanned, file size. Written when the results only cover the
+ *   start of the file. A file size of 0 stands for a stream of unknown size, as a partial scan of an empty file
+ *   cannot occur (since version 5).</li>
+ * </ul>
+ * Every version only adds record types, so the version is increased with every new tag and a reader accepts
+ * all versions up to its own.
+ */
+public class BinaryResultWriter extends ChannelResultWriter {
+
+    static final byte[] MAGIC = {'T', 'M', 'R'};
+    static final byte VERSION = 5;
+    static final byte TERM_TAG = 1;
+    static final byte LOCATION_TAG = 2;
+    static final byte FREQUENCY_TAG = 3;
+    static final byte SCANNED_RANGE_TAG = 4;
+    static final byte DICTIONARY_VERSION_TAG = 5;
+    static final byte CONTEXT_TAG = 6;
+    static final byte PARTIAL_SCAN_TAG = 7;
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private String lastTerm;
+    private int lastTermId;
+    private int dictionaryVersion;
+
+    public BinaryResultWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public BinaryResultWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+        for (byte b : MAGIC) {
+            put(b);
+        }
+        put(VERSION);
+    }
+
+    @Override
+    public void writeLocation(String term, Location location) {
+        int termId = termId(term);
+        if (location.getDictionaryVersion() != dictionaryVersion) {
+            dictionaryVersion = location.getDictionaryVersion();
+            put(DICTIONARY_VERSION_TAG);
+            putVarLong(dictionaryVersion);
+        }
+        ByteBuffer context = location.getContext();
+        if (context != null) {
+            put(CONTEXT_TAG);
+            putVarLong(context.remaining());
+            putBytes(context);
+        }
+        put(LOCATION_TAG);
+        putVarLong(termId);
+        putVarLong(location.getLineOffset());
+        putVarLong(location.getCharOffset());
+    }
+
+    @Override
+    public void writeFrequency(TermFrequency frequency) {
+        int termId = termId(frequency.getTerm());
+        put(FREQUENCY_TAG);
+        putVarLong(termId);
+        putVarLong(frequency.getCount());
+        putVarLong(frequency.getLowerBound());
+        putVarLong(frequency.getUpperBound());
+    }
+
+    @Override
+    public void writePartialScan(long scannedBytes, long fileSize) {
+        put(PARTIAL_SCAN_TAG);
+        putVarLong(scannedBytes);
+        putVarLong(Math.max(fileSize, 0));
+    }
+
+    /**
+     * Records how many lines and chars were scanned, so that a reader can position results
+     * that were matched with offsets relative to the start of a byte range.
+     */
+    public void writeScannedRange(int lineCount, long charCount) {
+        put(SCANNED_RANGE_TAG);
+        putVarLong(lineCount);
+        putVarLong(charCount);
+    }
+
+    private int termId(String term) {
+        if (term.equals(lastTerm)) {
+            return lastTermId;
+        }
+
+        Integer termId = termIds.get(term);
+        if (termId == null) {
+            termId = termIds.size();
+            termIds.put(term, termId);
+            put(TERM_TAG);
+            putVarLong(termId);
+            putVarLong(utf8Length(term));
+            putUtf8(term);
+        }
+        lastTerm = term;
+        lastTermId = termId;
+        return termId;
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.FileProcessor;
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Processes a text file using a {@link ChunkBloomIndex} stored next to it, skipping chunks that cannot match.
+ *
+ * <p>Without a valid index, the file is read sequentially in chunks of a fixed number of bytes, aligned to lines,
+ * and every worker builds the filter of its chunk along with matching it. The index is saved once the scan is
+ * complete. With a valid index, the filter of every chunk is tested against the trigrams of the search terms first,
+ * and only chunks that may contain a term are read, each by the worker thread itself with positional reads.
+ *
+ * <p>The search terms must be those of the matcher, so the processor cannot be used with a matcher whose terms
+ * change during the scan.
+ */
+public class BloomFilterFileProcessor implements FileProcessor {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 18;
+
+    private static final Logger logger = LoggerFactory.getLogger(BloomFilterFileProcessor.class);
+
+    private final TextMatcher matcher;
+    private final ExecutorService executorService;
+    private final List<long[]> termTrigrams;
+    private final int chunkSize;
+
+    /**
+     * @param searchTerms the search terms of the matcher, used to test the filters
+     * @param chunkSize   the approximate number of bytes per chunk of a new index
+     */
+    public BloomFilterFileProcessor(TextMatcher matcher, ExecutorService executorService, Set<String> searchTerms,
+                                    int chunkSize) {
+        if (matcher == null) {
+            throw new IllegalArgumentException("Matcher must not be null.");
+        }
+        if (executorService == null || executorService.isShutdown()) {
+            throw new IllegalArgumentException("ExecutorService must not be null or in shut down state.");
+        }
+        if (searchTerms == null || searchTerms.isEmpty()) {
+            throw new IllegalArgumentException("Search terms must be specified.");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+
+        this.matcher = matcher;
+        this.executorService = executorService;
+        this.termTrigrams = new ArrayList<>(searchTerms.size());
+        for (String term : searchTerms) {
+            termTrigrams.add(ChunkBloomIndex.trigrams(term));
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void processTextFile(String filePath, ResultAggregator<?> resultAggregator) {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("The specified file does not exist: " + filePath);
+        }
+        if (resultAggregator == null) {
+            throw new IllegalArgumentException("ResultAggregator must not be null.");
+        }
+
+        Optional<ChunkBloomIndex> index = ChunkBloomIndex.load(path);
+        if (index.isPresent()) {
+            logger.info("Processing file: {} using Bloom filter index with {} chunks", filePath, index.get().getChunkCount());
+            processWithIndex(path, index.get(), resultAggregator);
+        } else {
+            logger.info("Processing file: {} and building Bloom filter index", filePath);
+            processAndBuildIndex(path, resultAggregator);
+        }
+    }
+
+    private void processWithIndex(Path path, ChunkBloomIndex index, ResultAggregator<?> resultAggregator) {
+        int skippedChunks = 0;
+        for (int chunk = 0; chunk < index.getChunkCount(); chunk++) {
+            long startByte = index.getByteOffset(chunk);
+            long endByte = chunk + 1 < index.getChunkCount() ? index.getByteOffset(chunk + 1) : index.getFileSize();
+            int lineOffset = index.getLineOffset(chunk);
+            long charOffset = index.getCharOffset(chunk);
+
+            if (mightMatch(index, chunk)) {
+                resultAggregator.aggregateResults(CompletableFuture.supplyAsync(
+                        () -> matcher.findMatches(readLines(path, startByte, endByte), lineOffset, charOffset),
+                        executorService), endByte);
+            } else {
+                skippedChunks++;
+                resultAggregator.aggregateResults(CompletableFuture.completedFuture(new HashMap<>()), endByte);
+            }
+        }
+        logger.info("Skipped {} of {} chunks that cannot match", skippedChunks, index.getChunkCount());
+    }
+
+    private boolean mightMatch(ChunkBloomIndex index, int chunk) {
+        for (long[] trigrams : termTrigrams) {
+            if (index.mightContain(chunk, trigrams)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void processAndBuildIndex(Path path, ResultAggregator<?> resultAggregator) {
+        try (FileChannel channel = FileChannel.open(path)) {
+            long fileSize = channel.size();
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            ByteLineReader reader = new ByteLineReader(channel, ByteLineReader.DEFAULT_BUFFER_SIZE);
+            List<ScannedChunk> chunks = new ArrayList<>();
+
+            List<String> lines = new ArrayList<>();
+            int lineOffset = 0;
+            long charOffset = 0;
+            long currentChunkLength = 0;
+            long chunkStart = reader.position();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                currentChunkLength += line.length() + System.lineSeparator().length();
+
+                if (reader.position() - chunkStart >= chunkSize) {
+                    chunks.add(submitChunk(resultAggregator, lines, chunkStart, lineOffset, charOffset, reader.position()));
+                    lineOffset += lines.size();
+                    charOffset += currentChunkLength;
+                    currentChunkLength = 0;
+                    chunkStart = reader.position();
+                    lines = new ArrayList<>();
+                }
+            }
+
+            if (!lines.isEmpty()) {
+                chunks.add(submitChunk(resultAggregator, lines, chunkStart, lineOffset, charOffset, reader.position()));
+            }
+
+            saveIndex(path, chunks, fileSize, lastModified);
+        } catch (IOException e) {
+            throw new UncheckedIOException("File processing failed: " + path, e);
+        }
+    }
+
+    private ScannedChunk submitChunk(ResultAggregator<?> resultAggregator, List<String> lines, long startByte,
+                                     int lineOffset, long charOffset, long endByte) {
+        CompletableFuture<Map<String, List<Location>>> matches =
+                CompletableFuture.supplyAsync(() -> matcher.findMatches(lines, lineOffset, charOffset), executorService);
+        CompletableFuture<long[]> filter = matches.thenApplyAsync(
+                result -> ChunkBloomIndex.filter(lines, ChunkBloomIndex.DEFAULT_FILTER_BITS), executorService);
+        resultAggregator.aggregateResults(matches, endByte);
+        return new ScannedChunk(startByte, lineOffset, charOffset, filter);
+    }
+
+    private void saveIndex(Path path, List<ScannedChunk> chunks, long fileSize, long lastModified) {
+        ChunkBloomIndex.Builder indexBuilder = new ChunkBloomIndex.Builder();
+        try {
+            for (ScannedChunk chunk : chunks) {
+                indexBuilder.addChunk(chunk.startByte, chunk.lineOffset, chunk.charOffset, chunk.filter.join());
+            }
+        } catch (CompletionException | CancellationException e) {
+            logger.warn("Scan did not complete, Bloom filter index is not saved: {}", path);
+            return;
+        }
+
+        ChunkBloomIndex index = indexBuilder.build(fileSize, lastModified);
+        if (!index.isValidFor(path)) {
+            logger.warn("File changed while it was processed, Bloom filter index is not saved: {}", path);
+            return;
+        }
+        try {
+            index.save(path);
+            logger.info("Saved Bloom filter index with {} chunks: {}", index.getChunkCount(),
+                    ChunkBloomIndex.sidecarPath(path));
+        } catch (UncheckedIOException e) {
+            logger.warn("Failed to save Bloom filter index for file: {}", path, e);
+        }
+    }
+
+    private static List<String> readLines(Path path, long startByte, long endByte) {
+        try (FileChannel channel = FileChannel.open(path)) {
+            return ByteLineReader.readLines(FileRanges.read(channel, startByte, endByte));
+        } catch (IOException e) {
+            throw new UncheckedIOException("File processing failed: " + path, e);
+        }
+    }
+
+    private static final class ScannedChunk {
+
+        private final long startByte;
+        private final int lineOffset;
+        private final long charOffset;
+        private final CompletableFuture<long[]> filter;
+
+        private ScannedChunk(long startByte, int lineOffset, long charOffset, CompletableFuture<long[]> filter) {
+            this.startByte = startByte;
+            this.lineOffset = lineOffset;
+            this.charOffset = charOffset;
+            this.filter = filter;
+        }
+    }
+}
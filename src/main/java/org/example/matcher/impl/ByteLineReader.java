@@ -0,0 +1,166 @@
+package org.example.matcher.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads UTF-8 encoded lines from a channel or a buffer while keeping track of the number of bytes consumed.
+ *
+ * <p>Lines are terminated by <code>\n</code>, <code>\r\n</code> or <code>\r</code>, like in
+ * {@link java.io.BufferedReader#readLine()}. Malformed input is reported as a
+ * {@link java.nio.charset.CharacterCodingException}.
+ *
+ * <p>Instances are not thread-safe.
+ */
+final class ByteLineReader {
+
+    static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private ByteBuffer buffer;
+    private boolean endOfInput;
+    private long position;
+
+    ByteLineReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.flip();
+    }
+
+    /**
+     * Reads lines from the remaining bytes of the given buffer without copying them.
+     */
+    ByteLineReader(ByteBuffer source) {
+        this.channel = null;
+        this.buffer = source.duplicate();
+        this.endOfInput = true;
+    }
+
+    /**
+     * Decodes all lines contained in the remaining bytes of the given buffer.
+     * A buffer without a backing array, such as a direct buffer, is decoded in place in a single pass.
+     */
+    static List<String> readLines(ByteBuffer source) throws IOException {
+        if (!source.hasArray()) {
+            return splitLines(StandardCharsets.UTF_8.newDecoder().decode(source.duplicate()));
+        }
+        ByteLineReader reader = new ByteLineReader(source);
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /**
+     * Splits decoded text at the same line terminators as {@link #readLine()}.
+     */
+    private static List<String> splitLines(CharBuffer chars) {
+        char[] array = chars.array();
+        int offset = chars.arrayOffset() + chars.position();
+        int length = chars.remaining();
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = array[offset + i];
+            if (c == '\n' || c == '\r') {
+                lines.add(new String(array, offset + start, i - start));
+                if (c == '\r' && i + 1 < length && array[offset + i + 1] == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            lines.add(new String(array, offset + start, length - start));
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the next line without its terminator, or <code>null</code> at the end of the input.
+     */
+    String readLine() throws IOException {
+        int scanned = 0;
+        while (true) {
+            int start = buffer.position();
+            for (int i = start + scanned; i < buffer.limit(); i++) {
+                byte b = buffer.get(i);
+                if (b == '\n' || b == '\r') {
+                    if (b == '\r' && i + 1 == buffer.limit() && !endOfInput) {
+                        break;
+                    }
+                    int next = i + 1;
+                    if (b == '\r' && next < buffer.limit() && buffer.get(next) == '\n') {
+                        next++;
+                    }
+                    return consume(i, next);
+                }
+                scanned = i + 1 - start;
+            }
+
+            if (endOfInput) {
+                return buffer.hasRemaining() ? consume(buffer.limit(), buffer.limit()) : null;
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Returns the number of bytes consumed so far, including line terminators.
+     */
+    long position() {
+        return position;
+    }
+
+    private String consume(int lineEnd, int next) throws IOException {
+        int start = buffer.position();
+        String line = decode(start, lineEnd);
+        buffer.position(next);
+        position += next - start;
+        return line;
+    }
+
+    private String decode(int start, int end) throws IOException {
+        if (buffer.hasArray() && isAscii(start, end)) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(start).limit(end);
+        CharBuffer chars = decoder.decode(slice);
+        return chars.toString();
+    }
+
+    private boolean isAscii(int start, int end) {
+        byte[] array = buffer.array();
+        int offset = buffer.arrayOffset();
+        for (int i = offset + start; i < offset + end; i++) {
+            if (array[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void fill() throws IOException {
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+        if (channel.read(buffer) < 0) {
+            endOfInput = true;
+        }
+        buffer.flip();
+    }
+}
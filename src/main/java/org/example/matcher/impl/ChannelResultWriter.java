@@ -0,0 +1,202 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.ResultWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Base class for {@link ResultWriter}s that encode results directly into a large buffer
+ * and write it to a channel once it is full.
+ *
+ * <p>Numbers and strings are encoded by hand, so writing a match allocates no intermediate strings.
+ */
+abstract class ChannelResultWriter implements ResultWriter {
+
+    static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+
+    ChannelResultWriter(WritableByteChannel channel, int bufferSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel must not be null.");
+        }
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("Buffer size must be at least 16 bytes.");
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    final void put(byte value) {
+        ensureRemaining(1);
+        buffer.put(value);
+    }
+
+    final void putAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            put((byte) value.charAt(i));
+        }
+    }
+
+    final void putLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            putAscii(Long.toString(value));
+            return;
+        }
+        ensureRemaining(digits.length);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, position, digits.length - position);
+    }
+
+    final void putVarLong(long value) {
+        ensureRemaining(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Encodes a single Unicode code point as UTF-8.
+     */
+    final void putCodePoint(int codePoint) {
+        ensureRemaining(4);
+        if (codePoint < 0x80) {
+            buffer.put((byte) codePoint);
+        } else if (codePoint < 0x800) {
+            buffer.put((byte) (0xC0 | (codePoint >> 6)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        } else if (codePoint < 0x10000) {
+            buffer.put((byte) (0xE0 | (codePoint >> 12)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+            buffer.put((byte) (0xF0 | (codePoint >> 18)));
+            buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        }
+    }
+
+    final void putUtf8(String value) {
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            putCodePoint(codePoint);
+            i += Character.charCount(codePoint);
+        }
+    }
+
+    /**
+     * Copies the remaining bytes of the given buffer without changing its position.
+     */
+    final void putBytes(ByteBuffer source) {
+        ByteBuffer remaining = source.duplicate();
+        while (remaining.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(buffer.remaining(), remaining.remaining());
+            int limit = remaining.limit();
+            remaining.limit(remaining.position() + length);
+            buffer.put(remaining);
+            remaining.limit(limit);
+        }
+    }
+
+    /**
+     * Copies UTF-8 encoded text, escaping quotes, backslashes and control characters like a JSON string.
+     */
+    final void putEscapedUtf8(ByteBuffer source) {
+        for (int i = source.position(); i < source.limit(); i++) {
+            byte b = source.get(i);
+            switch (b) {
+                case '"':
+                    putAscii("\\\"");
+                    break;
+                case '\\':
+                    putAscii("\\\\");
+                    break;
+                case '\n':
+                    putAscii("\\n");
+                    break;
+                case '\r':
+                    putAscii("\\r");
+                    break;
+                case '\t':
+                    putAscii("\\t");
+                    break;
+                default:
+                    if (b >= 0 && b < 0x20) {
+                        putAscii("\\u00");
+                        put((byte) HEX_DIGITS[b >> 4]);
+                        put((byte) HEX_DIGITS[b & 0xF]);
+                    } else {
+                        put(b);
+                    }
+                    break;
+            }
+        }
+    }
+
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public final void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write results.", e);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close the result output.", e);
+        }
+    }
+
+    private void ensureRemaining(int length) {
+        if (buffer.remaining() < length) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package org.example.matcher.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sidecar index of a text file holding one trigram Bloom filter per chunk of the file, together with the
+ * <code>(byte offset, line offset, char offset)</code> of every chunk start.
+ *
+ * <p>A filter records every sequence of three consecutive chars within a line of its chunk, lower-cased, so a chunk
+ * whose filter lacks any trigram of a term cannot contain that term in any case. Filters are built with
+ * {@value #DEFAULT_FILTER_BITS} bits and folded in half while they stay sparse, so chunks with few distinct trigrams
+ * take little space. Terms shorter than three chars have no trigrams and may match every chunk.
+ *
+ * <p>The index is stored next to the file with the {@value #SUFFIX} suffix and records the file size and
+ * modification time, so a stale index is detected and ignored.
+ */
+public final class ChunkBloomIndex {
+
+    public static final String SUFFIX = ".bloom";
+    public static final int DEFAULT_FILTER_BITS = 1 << 17;
+
+    static final int HASH_COUNT = 3;
+    static final double MAX_FOLDED_FILL = 0.3;
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkBloomIndex.class);
+    private static final int MAGIC = 0x544D4246;
+    private static final int VERSION = 1;
+
+    private final long fileSize;
+    private final long lastModified;
+    private final int lineSeparatorLength;
+    private final long[] byteOffsets;
+    private final int[] lineOffsets;
+    private final long[] charOffsets;
+    private final long[][] filters;
+
+    private ChunkBloomIndex(long fileSize, long lastModified, int lineSeparatorLength,
+                            long[] byteOffsets, int[] lineOffsets, long[] charOffsets, long[][] filters) {
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.lineSeparatorLength = lineSeparatorLength;
+        this.byteOffsets = byteOffsets;
+        this.lineOffsets = lineOffsets;
+        this.charOffsets = charOffsets;
+        this.filters = filters;
+    }
+
+    public static Path sidecarPath(Path file) {
+        return file.resolveSibling(file.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Loads the index of the given file, if one exists and is still valid for it.
+     */
+    public static Optional<ChunkBloomIndex> load(Path file) {
+        Path indexPath = sidecarPath(file);
+        if (!Files.isRegularFile(indexPath)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.warn("Ignoring Bloom filter index with unknown format: {}", indexPath);
+                return Optional.empty();
+            }
+            long fileSize = in.readLong();
+            long lastModified = in.readLong();
+            int lineSeparatorLength = in.readInt();
+            int count = in.readInt();
+            long[] byteOffsets = new long[count];
+            int[] lineOffsets = new int[count];
+            long[] charOffsets = new long[count];
+            long[][] filters = new long[count][];
+            for (int i = 0; i < count; i++) {
+                byteOffsets[i] = in.readLong();
+                lineOffsets[i] = in.readInt();
+                charOffsets[i] = in.readLong();
+                filters[i] = new long[in.readInt()];
+                for (int j = 0; j < filters[i].length; j++) {
+                    filters[i][j] = in.readLong();
+                }
+            }
+
+            ChunkBloomIndex index = new ChunkBloomIndex(fileSize, lastModified, lineSeparatorLength,
+                    byteOffsets, lineOffsets, charOffsets, filters);
+            if (!index.isValidFor(file)) {
+                logger.info("Ignoring stale Bloom filter index: {}", indexPath);
+                return Optional.empty();
+            }
+            return Optional.of(index);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable Bloom filter index: {}", indexPath, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the index next to the given file, replacing any previous index atomically.
+     */
+    public void save(Path file) {
+        Path indexPath = sidecarPath(file);
+        Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(fileSize);
+                out.writeLong(lastModified);
+                out.writeInt(lineSeparatorLength);
+                out.writeInt(byteOffsets.length);
+                for (int i = 0; i < byteOffsets.length; i++) {
+                    out.writeLong(byteOffsets[i]);
+                    out.writeInt(lineOffsets[i]);
+                    out.writeLong(charOffsets[i]);
+                    out.writeInt(filters[i].length);
+                    for (long word : filters[i]) {
+                        out.writeLong(word);
+                    }
+                }
+            }
+            Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write Bloom filter index: " + indexPath, e);
+        }
+    }
+
+    /**
+     * Checks that the given file still has the size and modification time recorded in the index.
+     */
+    public boolean isValidFor(Path file) {
+        try {
+            return Files.size(file) == fileSize
+                    && Files.getLastModifiedTime(file).toMillis() == lastModified
+                    && System.lineSeparator().length() == lineSeparatorLength;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether the given chunk may contain all of the given trigrams, as returned by {@link #trigrams(String)}.
+     */
+    public boolean mightContain(int chunk, long[] trigrams) {
+        long[] filter = filters[chunk];
+        for (long trigram : trigrams) {
+            if (!mightContain(filter, trigram)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getChunkCount() {
+        return byteOffsets.length;
+    }
+
+    public long getByteOffset(int chunk) {
+        return byteOffsets[chunk];
+    }
+
+    public int getLineOffset(int chunk) {
+        return lineOffsets[chunk];
+    }
+
+    public long getCharOffset(int chunk) {
+        return charOffsets[chunk];
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Returns the number of bits of the filter of the given chunk after folding.
+     */
+    public int getFilterBits(int chunk) {
+        return filters[chunk].length * Long.SIZE;
+    }
+
+    /**
+     * Returns the distinct lower-cased trigrams of a search term, none if it is shorter than three chars.
+     */
+    public static long[] trigrams(String term) {
+        if (term.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[term.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = trigram(Character.toLowerCase(term.charAt(i)), Character.toLowerCase(term.charAt(i + 1)),
+                    Character.toLowerCase(term.charAt(i + 2)));
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    /**
+     * Builds the filter of a chunk from its lines.
+     *
+     * @param filterBits the number of bits before folding, a power of two of at least 64
+     */
+    public static long[] filter(List<String> lines, int filterBits) {
+        if (filterBits < Long.SIZE || Integer.bitCount(filterBits) != 1) {
+            throw new IllegalArgumentException("Filter bits must be a power of two of at least 64.");
+        }
+
+        long[] filter = new long[filterBits / Long.SIZE];
+        for (String line : lines) {
+            if (line.length() < 3) {
+                continue;
+            }
+            char first = Character.toLowerCase(line.charAt(0));
+            char second = Character.toLowerCase(line.charAt(1));
+            for (int i = 2; i < line.length(); i++) {
+                char third = Character.toLowerCase(line.charAt(i));
+                add(filter, trigram(first, second, third));
+                first = second;
+                second = third;
+            }
+        }
+        return fold(filter);
+    }
+
+    /**
+     * Halves the filter by combining its halves while the result stays sparse. Positions are derived from the hash
+     * modulo the filter size, which is a power of two, so a folded filter answers the same queries.
+     */
+    static long[] fold(long[] filter) {
+        while (filter.length > 1) {
+            int half = filter.length / 2;
+            long[] folded = new long[half];
+            long setBits = 0;
+            for (int i = 0; i < half; i++) {
+                folded[i] = filter[i] | filter[i + half];
+                setBits += Long.bitCount(folded[i]);
+            }
+            if (setBits > MAX_FOLDED_FILL * half * Long.SIZE) {
+                break;
+            }
+            filter = folded;
+        }
+        return filter;
+    }
+
+    private static long trigram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private static void add(long[] filter, long trigram) {
+        long hash = mix(trigram);
+        int mask = filter.length * Long.SIZE - 1;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & mask;
+            filter[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private static boolean mightContain(long[] filter, long trigram) {
+        long hash = mix(trigram);
+        int mask = filter.length * Long.SIZE - 1;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The finalizer of SplitMix64, spreading the bits of a trigram over the whole hash.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Collects the chunks of a file in order while it is scanned sequentially.
+     */
+    public static final class Builder {
+
+        private int count;
+        private long[] byteOffsets = new long[64];
+        private int[] lineOffsets = new int[64];
+        private long[] charOffsets = new long[64];
+        private long[][] filters = new long[64][];
+
+        public void addChunk(long byteOffset, int lineOffset, long charOffset, long[] filter) {
+            if (count == byteOffsets.length) {
+                byteOffsets = Arrays.copyOf(byteOffsets, count * 2);
+                lineOffsets = Arrays.copyOf(lineOffsets, count * 2);
+                charOffsets = Arrays.copyOf(charOffsets, count * 2);
+                filters = Arrays.copyOf(filters, count * 2);
+            }
+            byteOffsets[count] = byteOffset;
+            lineOffsets[count] = lineOffset;
+            charOffsets[count] = charOffset;
+            filters[count] = filter;
+            count++;
+        }
+
+        public ChunkBloomIndex build(long fileSize, long lastModified) {
+            return new ChunkBloomIndex(fileSize, lastModified, System.lineSeparator().length(),
+                    Arrays.copyOf(byteOffsets, count), Arrays.copyOf(lineOffsets, count),
+                    Arrays.copyOf(charOffsets, count), Arrays.copyOf(filters, count));
+        }
+    }
+}
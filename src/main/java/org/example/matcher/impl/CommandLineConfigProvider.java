@@ -1,13 +1,18 @@
 package org.example.matcher.impl;
 
+import org.example.matcher.AggregationMode;
 import org.example.matcher.ConfigProvider;
+import org.example.matcher.OutputFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Provides configuration settings parsed from command-line arguments.
@@ -25,13 +30,51 @@ public class CommandLineConfigProvider implements ConfigProvider {
     private final boolean caseInsensitive;
     private final String filePath;
     private final Set<String> searchTerms;
+    private final AggregationMode aggregationMode;
+    private final int topCount;
+    private final OutputFormat outputFormat;
+    private final String outputPath;
+    private final boolean lineIndexEnabled;
+    private final int processCount;
+    private final boolean asyncReadEnabled;
+    private final String searchFilePath;
+    private final Set<String> inlineSearchTerms;
+    private final int reloadInterval;
+    private final int memoryBudget;
+    private final int contextLines;
+    private final int contextBytes;
+    private final double sampleFraction;
+    private final double targetError;
+    private final int sampleSeed;
+    private final int deadline;
+    private final int progressInterval;
+    private final boolean bloomIndexEnabled;
 
-    protected CommandLineConfigProvider(String filePath, Set<String> searchTerms, int threadCount, int chunkSize, boolean caseInsensitive) {
-        this.threadCount = threadCount;
-        this.chunkSize = chunkSize;
-        this.caseInsensitive = caseInsensitive;
-        this.filePath = filePath;
-        this.searchTerms = Collections.unmodifiableSet(searchTerms);
+    private CommandLineConfigProvider(Builder builder) {
+        this.threadCount = builder.threadCount;
+        this.chunkSize = builder.chunkSize;
+        this.caseInsensitive = builder.caseInsensitive;
+        this.filePath = builder.filePath;
+        this.searchTerms = Collections.unmodifiableSet(builder.searchTerms);
+        this.aggregationMode = builder.aggregationMode;
+        this.topCount = builder.topCount;
+        this.outputFormat = builder.outputFormat;
+        this.outputPath = builder.outputPath;
+        this.lineIndexEnabled = builder.lineIndexEnabled;
+        this.processCount = builder.processCount;
+        this.asyncReadEnabled = builder.asyncReadEnabled;
+        this.searchFilePath = builder.searchFilePath;
+        this.inlineSearchTerms = builder.inlineSearchTerms;
+        this.reloadInterval = builder.reloadInterval;
+        this.memoryBudget = builder.memoryBudget;
+        this.contextLines = builder.contextLines;
+        this.contextBytes = builder.contextBytes;
+        this.sampleFraction = builder.sampleFraction;
+        this.targetError = builder.targetError;
+        this.sampleSeed = builder.sampleSeed;
+        this.deadline = builder.deadline;
+        this.progressInterval = builder.progressInterval;
+        this.bloomIndexEnabled = builder.bloomIndexEnabled;
     }
 
     public static CommandLineConfigProvider fromArgs(String[] args) {
@@ -39,28 +82,79 @@ public class CommandLineConfigProvider implements ConfigProvider {
             handleCommandLineError("");
         }
 
-        int threadCount = Runtime.getRuntime().availableProcessors();
-        int chunkSize = 1000;
-        boolean caseInsensitive = false;
-        String filePath = null;
-        Set<String> searchTerms = new HashSet<>();
-
+        Builder builder = new Builder();
         for (int i = 0; i < args.length; i++) {
             switch (args[i]) {
                 case "--threads":
-                    threadCount = parseNumber("--threads", args[++i], 1, 100);
+                    builder.threadCount = parseNumber("--threads", args[++i], 1, 100);
                     break;
                 case "--chunk":
-                    chunkSize = parseNumber("--chunk", args[++i], 1, 1000000);
+                    builder.chunkSize = parseNumber("--chunk", args[++i], 1, 1000000);
+                    builder.chunkSizeGiven = true;
                     break;
                 case "--ignoreCase":
-                    caseInsensitive = true;
+                    builder.caseInsensitive = true;
                     break;
                 case "--file":
-                    filePath = args[++i];
+                    builder.filePath = args[++i];
                     break;
                 case "--search":
-                    searchTerms.addAll(Arrays.asList(args[++i].split(",")));
+                    builder.searchTerms.addAll(Arrays.asList(args[++i].split(",")));
+                    break;
+                case "--aggregation":
+                    builder.aggregationMode = parseAggregationMode(args[++i]);
+                    builder.aggregationModeGiven = true;
+                    break;
+                case "--top":
+                    builder.topCount = parseNumber("--top", args[++i], 1, 1000000);
+                    break;
+                case "--output":
+                    builder.outputFormat = parseOutputFormat(args[++i]);
+                    break;
+                case "--outputFile":
+                    builder.outputPath = args[++i];
+                    break;
+                case "--index":
+                    builder.lineIndexEnabled = true;
+                    break;
+                case "--processes":
+                    builder.processCount = parseNumber("--processes", args[++i], 1, 100);
+                    break;
+                case "--async":
+                    builder.asyncReadEnabled = true;
+                    break;
+                case "--searchFile":
+                    builder.searchFilePath = args[++i];
+                    break;
+                case "--reload":
+                    builder.reloadInterval = parseNumber("--reload", args[++i], 1, 86400);
+                    break;
+                case "--memory":
+                    builder.memoryBudget = parseNumber("--memory", args[++i], 1, 1048576);
+                    break;
+                case "--context":
+                    builder.contextLines = parseNumber("--context", args[++i], 0, 1000);
+                    break;
+                case "--contextBytes":
+                    builder.contextBytes = parseNumber("--contextBytes", args[++i], 0, 1000000);
+                    break;
+                case "--sample":
+                    builder.sampleFraction = parseFraction("--sample", args[++i], true);
+                    break;
+                case "--targetError":
+                    builder.targetError = parseFraction("--targetError", args[++i], false);
+                    break;
+                case "--seed":
+                    builder.sampleSeed = parseNumber("--seed", args[++i], 0, Integer.MAX_VALUE);
+                    break;
+                case "--deadline":
+                    builder.deadline = parseNumber("--deadline", args[++i], 1, 31536000);
+                    break;
+                case "--progress":
+                    builder.progressInterval = parseNumber("--progress", args[++i], 1, 3600);
+                    break;
+                case "--bloom":
+                    builder.bloomIndexEnabled = true;
                     break;
                 default:
                     handleCommandLineError("Unknown argument: " + args[i]);
@@ -68,11 +162,84 @@ public class CommandLineConfigProvider implements ConfigProvider {
             }
         }
 
-        validateConfig(filePath, searchTerms);
+        builder.inlineSearchTerms = Set.copyOf(builder.searchTerms);
+        if (builder.searchFilePath != null) {
+            builder.searchTerms.addAll(readSearchFile(builder.searchFilePath));
+        } else if (builder.reloadInterval > 0) {
+            handleCommandLineError("'--reload' requires '--searchFile'.");
+        }
+        if (builder.contextLines > 0 && builder.contextBytes > 0) {
+            handleCommandLineError("'--context' and '--contextBytes' cannot be combined.");
+        }
+        validateReaderOptions(builder);
+        if (builder.targetError > 0 && builder.sampleFraction == 0) {
+            builder.sampleFraction = 1;
+        }
+        validateSampleOptions(builder);
+        validateConfig(builder.filePath, builder.searchTerms);
+        CommandLineConfigProvider config = new CommandLineConfigProvider(builder);
         logger.info("Loaded config from program arguments: " +
-                        "filePath='{}', searchTerms={}, threadCount={}, chunkSize={}, caseInsensitive={}",
-                filePath, searchTerms, threadCount, chunkSize, caseInsensitive);
-        return new CommandLineConfigProvider(filePath, searchTerms, threadCount, chunkSize, caseInsensitive);
+                        "filePath='{}', searchTerms={}, threadCount={}, chunkSize={}, caseInsensitive={}, " +
+                        "aggregationMode={}, topCount={}, outputFormat={}, outputPath='{}', " +
+                        "lineIndexEnabled={}, processCount={}, asyncReadEnabled={}, searchFilePath='{}', reloadInterval={}, " +
+                        "memoryBudget={}MB, contextLines={}, contextBytes={}, sampleFraction={}, targetError={}, sampleSeed={}, " +
+                        "deadline={}, progressInterval={}, bloomIndexEnabled={}",
+                config.filePath, config.searchTerms, config.threadCount, config.chunkSize, config.caseInsensitive,
+                config.aggregationMode, config.topCount, config.outputFormat, config.outputPath,
+                config.lineIndexEnabled, config.processCount, config.asyncReadEnabled, config.searchFilePath,
+                config.reloadInterval, config.memoryBudget, config.contextLines, config.contextBytes,
+                config.sampleFraction, config.targetError, config.sampleSeed, config.deadline, config.progressInterval,
+                config.bloomIndexEnabled);
+        return config;
+    }
+
+    private static void validateSampleOptions(Builder builder) {
+        if (builder.sampleFraction == 0) {
+            return;
+        }
+        if (isStream(builder.filePath)) {
+            handleCommandLineError("'--sample' reads random chunks of a regular file and cannot read standard input or a pipe.");
+        }
+        if (builder.aggregationModeGiven || builder.processCount > 1 || builder.bloomIndexEnabled
+                || builder.asyncReadEnabled || builder.lineIndexEnabled || builder.chunkSizeGiven
+                || builder.contextLines > 0 || builder.contextBytes > 0 || builder.deadline > 0
+                || builder.progressInterval > 0 || builder.reloadInterval > 0) {
+            handleCommandLineError("'--sample' and '--targetError' estimate term counts from chunks of their own and " +
+                    "cannot be combined with '--aggregation', '--processes', '--bloom', '--async', '--index', '--chunk', " +
+                    "'--context', '--contextBytes', '--deadline', '--progress' or '--reload'.");
+        }
+    }
+
+    private static void validateReaderOptions(Builder builder) {
+        boolean stream = isStream(builder.filePath);
+        boolean context = builder.contextLines > 0 || builder.contextBytes > 0;
+        int readers = (builder.processCount > 1 ? 1 : 0) + (builder.bloomIndexEnabled ? 1 : 0)
+                + (builder.asyncReadEnabled ? 1 : 0) + (builder.lineIndexEnabled ? 1 : 0);
+        if (context && (readers > 0 || stream)) {
+            handleCommandLineError("'--context' and '--contextBytes' read a memory-mapped file and cannot be combined " +
+                    "with '--processes', '--bloom', '--async', '--index' or a stream.");
+        }
+        if (context && builder.aggregationMode != AggregationMode.LOCATIONS
+                && builder.aggregationMode != AggregationMode.STREAMED_LOCATIONS) {
+            handleCommandLineError("'--context' and '--contextBytes' are only written by 'locations' and 'stream' " +
+                    "aggregation.");
+        }
+        if (stream && readers > 0) {
+            handleCommandLineError("A stream is read sequentially and cannot be combined " +
+                    "with '--processes', '--bloom', '--async' or '--index'.");
+        }
+        if (readers > 1) {
+            handleCommandLineError("'--processes', '--bloom', '--async' and '--index' choose how the file is read " +
+                    "and cannot be combined.");
+        }
+        if (builder.chunkSizeGiven && (context || builder.bloomIndexEnabled || builder.asyncReadEnabled || stream)) {
+            handleCommandLineError("'--chunk' counts lines and cannot be combined with '--context', '--contextBytes', " +
+                    "'--bloom', '--async' or a stream, which read the file in blocks of bytes.");
+        }
+        if (builder.reloadInterval > 0 && (builder.bloomIndexEnabled || builder.processCount > 1)) {
+            handleCommandLineError("'--reload' cannot be combined with '--bloom' or '--processes', " +
+                    "which match the terms given at startup.");
+        }
     }
 
     private static void handleCommandLineError(String errorMessage) {
@@ -84,11 +251,29 @@ public class CommandLineConfigProvider implements ConfigProvider {
     private static void displayHelp() {
         System.out.println("Usage: java -jar matcher.jar --file <path> --search <terms> [OPTIONS]\n" +
                 "Options:\n" +
-                "--file <path>          * Path to the file to process (required).\n" +
-                "--search <terms>       * Comma-separated list of search terms (required).\n" +
+                "--file <path>          * Path to the file to process, or '-' to read standard input (required).\n" +
+                "--search <terms>       * Comma-separated list of search terms (required unless --searchFile is given).\n" +
+                "--searchFile <path>    File with one search term per line, added to the terms given by --search.\n" +
+                "--reload <seconds>     Check the --searchFile for changes at this interval and apply them while scanning. Must be between 1 and 86,400. Not with --bloom or --processes.\n" +
                 "--threads <number>     Number of threads to use (default: number of available processors). Must be between 1 and 100.\n" +
-                "--chunk <number>       Number of lines per chunk (default: 1000). Must be between 1 and 1,000,000.\n" +
+                "--chunk <number>       Number of lines per chunk (default: 1000). Must be between 1 and 1,000,000. Not with --bloom, --async, --context or a stream.\n" +
                 "--ignoreCase           Whether to perform a case-insensitive search (default: false).\n" +
+                "--aggregation <mode>   How to aggregate matches: 'locations', 'exact', 'approximate', 'spill' or 'stream' (default: locations).\n" +
+                "--top <number>         Number of most frequent terms reported by 'exact' and 'approximate' aggregation (default: 100). Must be between 1 and 1,000,000.\n" +
+                "--memory <megabytes>   Memory used to buffer locations and their terms by 'spill' aggregation before spilling to disk (default: 256). Must be between 1 and 1,048,576.\n" +
+                "--output <format>      Output format: 'text', 'ndjson', 'csv' or 'binary' (default: text).\n" +
+                "--outputFile <path>    Path to the file to write results to (default: standard output).\n" +
+                "--index                Use a line offset index stored next to the file, creating it on the first run (default: false). Not with --processes, --async or --bloom.\n" +
+                "--processes <number>   Number of worker processes the file is split across (default: 1). Must be between 1 and 100. Not with --index, --async or --bloom.\n" +
+                "--async                Read the file in large asynchronous blocks into pooled direct buffers (default: false). Not with --processes, --index or --bloom.\n" +
+                "--bloom                Skip chunks that cannot match using Bloom filters stored next to the file, creating them on the first run (default: false). Not with --processes, --index or --async.\n" +
+                "--context <lines>      Number of lines printed before and after the line of every match, read from a memory-mapped file (default: 0). Must be between 0 and 1,000. Only with 'locations' or 'stream' aggregation.\n" +
+                "--contextBytes <bytes> Number of bytes printed before and after every match, read from a memory-mapped file (default: 0). Must be between 0 and 1,000,000.\n" +
+                "--sample <fraction>    Estimate term counts with confidence intervals from a random sample of at most this fraction of the file, greater than 0 and at most 1. Not with --aggregation, --processes, --bloom, --async, --index, --chunk, --context, --contextBytes, --deadline, --progress or --reload.\n" +
+                "--targetError <ratio>  Stop sampling once every estimate is within this relative error, greater than 0 and less than 1. Implies '--sample 1' if no fraction is given.\n" +
+                "--seed <number>        Seed of the random sample (default: random). Must be between 0 and 2,147,483,647.\n" +
+                "--deadline <seconds>   Stop scanning after this time and write the results of the part of the file scanned so far. Must be between 1 and 31,536,000.\n" +
+                "--progress <seconds>   Log the scan progress, rate and estimated time remaining at this interval. Must be between 1 and 3,600.\n" +
                 "--help                 Display this help message."
         );
     }
@@ -102,6 +287,19 @@ public class CommandLineConfigProvider implements ConfigProvider {
         }
     }
 
+    private static boolean isStream(String filePath) {
+        return filePath != null && StreamingInputProcessor.isStream(filePath);
+    }
+
+    private static Set<String> readSearchFile(String searchFilePath) {
+        try {
+            return DictionaryWatcher.readTerms(Paths.get(searchFilePath));
+        } catch (UncheckedIOException e) {
+            handleCommandLineError("Failed to read parameter '--searchFile'. Provided: " + searchFilePath);
+            return Set.of();
+        }
+    }
+
     private static int parseNumber(String paramName, String paramValue, int minValue, int maxValue) {
         try {
             int value = Integer.parseInt(paramValue);
@@ -117,6 +315,55 @@ public class CommandLineConfigProvider implements ConfigProvider {
         }
     }
 
+    private static double parseFraction(String paramName, String paramValue, boolean oneAllowed) {
+        try {
+            double value = Double.parseDouble(paramValue);
+            if (!(value > 0 && (oneAllowed ? value <= 1 : value < 1))) {
+                handleCommandLineError(String.format("Parameter '%s' should be in range (0, 1%s. Provided: %s",
+                        paramName, oneAllowed ? "]" : ")", paramValue));
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            handleCommandLineError(String.format("Incorrect number format for parameter '%s'. Provided: %s",
+                    paramName, paramValue));
+            return -1;
+        }
+    }
+
+    private static AggregationMode parseAggregationMode(String paramValue) {
+        switch (paramValue) {
+            case "locations":
+                return AggregationMode.LOCATIONS;
+            case "exact":
+                return AggregationMode.EXACT_COUNTS;
+            case "approximate":
+                return AggregationMode.APPROXIMATE_COUNTS;
+            case "spill":
+                return AggregationMode.SPILLED_LOCATIONS;
+            case "stream":
+                return AggregationMode.STREAMED_LOCATIONS;
+            default:
+                handleCommandLineError("Unknown value for parameter '--aggregation'. Provided: " + paramValue);
+                return null;
+        }
+    }
+
+    private static OutputFormat parseOutputFormat(String paramValue) {
+        switch (paramValue) {
+            case "text":
+                return OutputFormat.TEXT;
+            case "ndjson":
+                return OutputFormat.NDJSON;
+            case "csv":
+                return OutputFormat.CSV;
+            case "binary":
+                return OutputFormat.BINARY;
+            default:
+                handleCommandLineError("Unknown value for parameter '--output'. Provided: " + paramValue);
+                return null;
+        }
+    }
+
     @Override
     public int getThreadCount() {
         return threadCount;
@@ -141,4 +388,132 @@ public class CommandLineConfigProvider implements ConfigProvider {
     public Set<String> getSearchTerms() {
         return searchTerms;
     }
-}
\ No newline at end of file
+
+    @Override
+    public AggregationMode getAggregationMode() {
+        return aggregationMode;
+    }
+
+    @Override
+    public int getTopCount() {
+        return topCount;
+    }
+
+    @Override
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    @Override
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    @Override
+    public boolean isLineIndexEnabled() {
+        return lineIndexEnabled;
+    }
+
+    @Override
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    @Override
+    public boolean isAsyncReadEnabled() {
+        return asyncReadEnabled;
+    }
+
+    @Override
+    public String getSearchFilePath() {
+        return searchFilePath;
+    }
+
+    @Override
+    public int getReloadInterval() {
+        return reloadInterval;
+    }
+
+    @Override
+    public Set<String> getInlineSearchTerms() {
+        return inlineSearchTerms;
+    }
+
+    @Override
+    public long getMemoryBudget() {
+        return memoryBudget * 1024L * 1024L;
+    }
+
+    @Override
+    public int getContextLines() {
+        return contextLines;
+    }
+
+    @Override
+    public int getContextBytes() {
+        return contextBytes;
+    }
+
+    @Override
+    public double getSampleFraction() {
+        return sampleFraction;
+    }
+
+    @Override
+    public double getTargetError() {
+        return targetError;
+    }
+
+    @Override
+    public long getSampleSeed() {
+        return sampleSeed;
+    }
+
+    @Override
+    public int getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    public int getProgressInterval() {
+        return progressInterval;
+    }
+
+    @Override
+    public boolean isBloomIndexEnabled() {
+        return bloomIndexEnabled;
+    }
+
+    /**
+     * Collects the settings while the arguments are parsed.
+     */
+    private static final class Builder {
+
+        private int threadCount = Runtime.getRuntime().availableProcessors();
+        private int chunkSize = 1000;
+        private boolean chunkSizeGiven = false;
+        private boolean caseInsensitive = false;
+        private String filePath;
+        private Set<String> searchTerms = new HashSet<>();
+        private AggregationMode aggregationMode = AggregationMode.LOCATIONS;
+        private boolean aggregationModeGiven = false;
+        private int topCount = 100;
+        private OutputFormat outputFormat = OutputFormat.TEXT;
+        private String outputPath;
+        private boolean lineIndexEnabled = false;
+        private int processCount = 1;
+        private boolean asyncReadEnabled = false;
+        private String searchFilePath;
+        private Set<String> inlineSearchTerms = Set.of();
+        private int reloadInterval = 0;
+        private int memoryBudget = 256;
+        private int contextLines = 0;
+        private int contextBytes = 0;
+        private double sampleFraction = 0;
+        private double targetError = 0;
+        private int sampleSeed = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+        private int deadline = 0;
+        private int progressInterval = 0;
+        private boolean bloomIndexEnabled = false;
+    }
+}
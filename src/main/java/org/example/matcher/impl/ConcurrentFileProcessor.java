@@ -6,19 +6,21 @@ import org.example.matcher.TextMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
 /**
  * Processes a text file concurrently by splitting it into chunks and passing each chunk to a {@link TextMatcher}.
  * Results from all chunks are aggregated using a {@link ResultAggregator}.
+ * Chunks are handed over as {@link CompletableFuture}s, so aggregators can merge them as soon as they complete.
  */
 public class ConcurrentFileProcessor implements FileProcessor {
 
@@ -45,7 +47,7 @@ public class ConcurrentFileProcessor implements FileProcessor {
     }
 
     @Override
-    public void processTextFile(String filePath, ResultAggregator resultAggregator) {
+    public void processTextFile(String filePath, ResultAggregator<?> resultAggregator) {
         Path path = Paths.get(filePath);
         if (!Files.exists(path)) {
             throw new IllegalArgumentException("The specified file does not exist: " + filePath);
@@ -55,7 +57,8 @@ public class ConcurrentFileProcessor implements FileProcessor {
         }
 
         logger.info("Processing file: {}", filePath);
-        try (BufferedReader reader = Files.newBufferedReader(path)) {
+        try (FileChannel channel = FileChannel.open(path)) {
+            ByteLineReader reader = new ByteLineReader(channel, ByteLineReader.DEFAULT_BUFFER_SIZE);
             List<String> lines = new ArrayList<>();
             int lineOffset = 0;
             long charOffset = 0;
@@ -67,7 +70,7 @@ public class ConcurrentFileProcessor implements FileProcessor {
                 currentChunkLength += line.length() + System.lineSeparator().length();
 
                 if (lines.size() == chunkSize) {
-                    submitChunk(resultAggregator, lines, lineOffset, charOffset);
+                    submitChunk(resultAggregator, lines, lineOffset, charOffset, reader.position());
                     lineOffset += lines.size();
                     charOffset += currentChunkLength;
                     currentChunkLength = 0;
@@ -76,15 +79,17 @@ public class ConcurrentFileProcessor implements FileProcessor {
             }
 
             if (!lines.isEmpty()) {
-                submitChunk(resultAggregator, lines, lineOffset, charOffset);
+                submitChunk(resultAggregator, lines, lineOffset, charOffset, reader.position());
             }
         } catch (IOException e) {
             throw new UncheckedIOException("File processing failed: " + filePath, e);
         }
     }
 
-    private void submitChunk(ResultAggregator resultAggregator, List<String> lines, int lineOffset, long charOffset) {
+    private void submitChunk(ResultAggregator<?> resultAggregator, List<String> lines, int lineOffset, long charOffset,
+                             long endOffset) {
         resultAggregator.aggregateResults(
-                executorService.submit(() -> matcher.findMatches(lines, lineOffset, charOffset)));
+                CompletableFuture.supplyAsync(() -> matcher.findMatches(lines, lineOffset, charOffset), executorService),
+                endOffset);
     }
 }
@@ -0,0 +1,126 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes results as comma-separated values, one row per match or term count.
+ * A header row is written before the first row of each kind:
+ * <pre>
+ * term,lineOffset,charOffset
+ * Timothy,13387,1018975
+ * </pre>
+ * Matches found after the search terms were reloaded add a <code>dictionaryVersion</code> column,
+ * matches with captured context a quoted <code>context</code> column; a new header row is written when the columns change.
+ * Partial results end with a <code>scannedBytes,fileSize</code> row.
+ * Terms containing commas, quotes or line breaks are quoted.
+ */
+public class CsvResultWriter extends ChannelResultWriter {
+
+    private static final String[] LOCATION_HEADERS = {
+            "term,lineOffset,charOffset\n",
+            "term,lineOffset,charOffset,dictionaryVersion\n",
+            "term,lineOffset,charOffset,context\n",
+            "term,lineOffset,charOffset,dictionaryVersion,context\n"
+    };
+    private static final String FREQUENCY_HEADER = "term,count,lowerBound,upperBound\n";
+    private static final String PARTIAL_SCAN_HEADER = "scannedBytes,fileSize\n";
+
+    private String currentHeader;
+
+    public CsvResultWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvResultWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void writeLocation(String term, Location location) {
+        boolean versioned = location.getDictionaryVersion() != 0;
+        ByteBuffer context = location.getContext();
+        putHeader(LOCATION_HEADERS[(versioned ? 1 : 0) + (context != null ? 2 : 0)]);
+        putField(term);
+        put((byte) ',');
+        putLong(location.getLineOffset());
+        put((byte) ',');
+        putLong(location.getCharOffset());
+        if (versioned) {
+            put((byte) ',');
+            putLong(location.getDictionaryVersion());
+        }
+        if (context != null) {
+            put((byte) ',');
+            putQuoted(context);
+        }
+        put((byte) '\n');
+    }
+
+    @Override
+    public void writeFrequency(TermFrequency frequency) {
+        putHeader(FREQUENCY_HEADER);
+        putField(frequency.getTerm());
+        put((byte) ',');
+        putLong(frequency.getCount());
+        put((byte) ',');
+        putLong(frequency.getLowerBound());
+        put((byte) ',');
+        putLong(frequency.getUpperBound());
+        put((byte) '\n');
+    }
+
+    @Override
+    public void writePartialScan(long scannedBytes, long fileSize) {
+        putHeader(PARTIAL_SCAN_HEADER);
+        putLong(scannedBytes);
+        put((byte) ',');
+        putLong(fileSize);
+        put((byte) '\n');
+    }
+
+    private void putHeader(String header) {
+        if (!header.equals(currentHeader)) {
+            putAscii(header);
+            currentHeader = header;
+        }
+    }
+
+    private void putQuoted(ByteBuffer value) {
+        put((byte) '"');
+        for (int i = value.position(); i < value.limit(); i++) {
+            byte b = value.get(i);
+            if (b == '"') {
+                put((byte) '"');
+            }
+            put(b);
+        }
+        put((byte) '"');
+    }
+
+    private void putField(String value) {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            putUtf8(value);
+            return;
+        }
+
+        put((byte) '"');
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            if (codePoint == '"') {
+                put((byte) '"');
+            }
+            putCodePoint(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        put((byte) '"');
+    }
+}
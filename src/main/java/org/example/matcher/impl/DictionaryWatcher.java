@@ -0,0 +1,131 @@
+package org.example.matcher.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls a search term file and reloads a {@link ReloadableTextMatcher} whenever the file changes.
+ * The file holds one search term per line; blank lines are ignored.
+ *
+ * <p>A change is only applied once two consecutive polls see the same modification time and size, so a file that is
+ * still being written is neither loaded half-way nor reloaded once per write.
+ * Search terms given in addition to the file are kept on every reload.
+ */
+public class DictionaryWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DictionaryWatcher.class);
+
+    private final Path termFile;
+    private final Set<String> additionalTerms;
+    private final ReloadableTextMatcher matcher;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dictionary-watcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastModified;
+    private long lastSize;
+    private long pendingModified;
+    private long pendingSize;
+
+    /**
+     * Starts watching the file. Its current content is assumed to be already loaded by the matcher.
+     */
+    public DictionaryWatcher(Path termFile, Set<String> additionalTerms, ReloadableTextMatcher matcher,
+                             long intervalMillis) {
+        if (termFile == null || additionalTerms == null || matcher == null) {
+            throw new IllegalArgumentException("Term file, additional terms and matcher must not be null.");
+        }
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be positive.");
+        }
+
+        this.termFile = termFile;
+        this.additionalTerms = Set.copyOf(additionalTerms);
+        this.matcher = matcher;
+        this.lastModified = lastModified(termFile);
+        this.lastSize = size(termFile);
+        this.pendingModified = lastModified;
+        this.pendingSize = lastSize;
+        scheduler.scheduleWithFixedDelay(this::checkForChanges, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reads the search terms of a term file.
+     */
+    public static Set<String> readTerms(Path termFile) {
+        try {
+            Set<String> terms = new LinkedHashSet<>();
+            for (String line : Files.readAllLines(termFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    terms.add(line.strip());
+                }
+            }
+            return terms;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read search terms: " + termFile, e);
+        }
+    }
+
+    void checkForChanges() {
+        long modified = lastModified(termFile);
+        long size = size(termFile);
+        if (modified != pendingModified || size != pendingSize) {
+            pendingModified = modified;
+            pendingSize = size;
+            return;
+        }
+        if ((modified == lastModified && size == lastSize) || modified < 0) {
+            return;
+        }
+
+        try {
+            Set<String> terms = readTerms(termFile);
+            if (modified != lastModified(termFile) || size != size(termFile)) {
+                return;
+            }
+            terms.addAll(additionalTerms);
+            lastModified = modified;
+            lastSize = size;
+            logger.info("Search term file changed, reloading {} search terms: {}", terms.size(), termFile);
+            matcher.reload(terms).exceptionally(e -> {
+                logger.warn("Failed to build dictionary from: {}", termFile, e);
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            logger.warn("Failed to reload search terms: {}", termFile, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.matcher.impl;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fixed set of direct buffers that are allocated once and recycled.
+ * {@link #acquire()} blocks while all buffers are in use, which bounds the memory of a read pipeline.
+ */
+final class DirectBufferPool {
+
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    DirectBufferPool(int bufferCount, int bufferSize) {
+        if (bufferCount <= 0 || bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer count and buffer size must be positive.");
+        }
+        buffers = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            buffers.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+    }
+
+    ByteBuffer acquire() throws InterruptedException {
+        return buffers.take();
+    }
+
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+        buffers.add(buffer);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.matcher.impl;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Helpers for reading byte ranges of a file with positional reads, which are safe to use concurrently.
+ */
+final class FileRanges {
+
+    private FileRanges() {
+    }
+
+    /**
+     * Reads the bytes in <code>[start, end)</code> into a new buffer, ready to be read.
+     */
+    static ByteBuffer read(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file at byte " + (start + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Returns the start of the first line beginning at or after the given position.
+     * Lines are terminated by <code>\n</code>, <code>\r\n</code> or <code>\r</code>, like in {@link ByteLineReader}.
+     */
+    static long nextLineStart(FileChannel channel, long position) throws IOException {
+        long size = channel.size();
+        if (position <= 0) {
+            return 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    return offset + i + 1;
+                }
+                if (b == '\r') {
+                    long next = offset + i + 1;
+                    return next < size && byteAt(channel, next) == '\n' ? next + 1 : next;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private static byte byteAt(FileChannel channel, long position) throws IOException {
+        return read(channel, position, position + 1).get();
+    }
+}
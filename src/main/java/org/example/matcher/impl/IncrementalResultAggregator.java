@@ -0,0 +1,114 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the locations of all matches, merging each partial result as soon as its chunk completes.
+ *
+ * <p>Chunks complete in arbitrary order, so the locations of each term are kept as a list of sorted runs,
+ * one run per chunk, guarded by a per-term lock. Partial result maps are released right after merging.
+ * The final result is produced by a k-way merge of each term's runs, ordered by character offset.
+ */
+public class IncrementalResultAggregator extends AbstractMergingResultAggregator<Map<String, List<Location>>> {
+
+    static final Comparator<Location> BY_OFFSET = Comparator
+            .comparingLong(Location::getCharOffset)
+            .thenComparingInt(Location::getLineOffset);
+
+    private final Map<String, SortedRuns> runsByTerm = new ConcurrentHashMap<>();
+
+    @Override
+    protected void merge(Map<String, List<Location>> partialResult) {
+        for (Map.Entry<String, List<Location>> entry : partialResult.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                runsByTerm.computeIfAbsent(entry.getKey(), k -> new SortedRuns()).add(entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    protected Map<String, List<Location>> buildResult() {
+        Map<String, List<Location>> result = new HashMap<>();
+        for (Map.Entry<String, SortedRuns> entry : runsByTerm.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().mergeRuns());
+        }
+        runsByTerm.clear();
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Sorted runs of locations of a single term.
+     */
+    private static final class SortedRuns {
+
+        private final List<List<Location>> runs = new ArrayList<>();
+        private int size;
+
+        synchronized void add(List<Location> run) {
+            if (!isSorted(run)) {
+                run = new ArrayList<>(run);
+                run.sort(BY_OFFSET);
+            }
+            runs.add(run);
+            size += run.size();
+        }
+
+        synchronized List<Location> mergeRuns() {
+            if (runs.size() == 1) {
+                return new ArrayList<>(runs.get(0));
+            }
+
+            PriorityQueue<RunCursor> heads = new PriorityQueue<>(runs.size(),
+                    (a, b) -> BY_OFFSET.compare(a.current(), b.current()));
+            for (List<Location> run : runs) {
+                heads.add(new RunCursor(run));
+            }
+
+            List<Location> merged = new ArrayList<>(size);
+            while (!heads.isEmpty()) {
+                RunCursor head = heads.poll();
+                merged.add(head.current());
+                if (head.advance()) {
+                    heads.add(head);
+                }
+            }
+            return merged;
+        }
+
+        private static boolean isSorted(List<Location> run) {
+            for (int i = 1; i < run.size(); i++) {
+                if (BY_OFFSET.compare(run.get(i - 1), run.get(i)) > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class RunCursor {
+
+        private final List<Location> run;
+        private int position;
+
+        RunCursor(List<Location> run) {
+            this.run = run;
+        }
+
+        Location current() {
+            return run.get(position);
+        }
+
+        boolean advance() {
+            return ++position < run.size();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.FileProcessor;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Processes a text file using a {@link LineOffsetIndex} stored next to it.
+ *
+ * <p>Without a valid index, the file is read sequentially like in {@link ConcurrentFileProcessor},
+ * and a checkpoint is recorded at the start of every chunk. The index is saved once the scan is complete.
+ * With a valid index, every chunk is read independently from its checkpoint by the worker thread itself,
+ * so chunks are matched in parallel without rediscovering line boundaries. An index whose checkpoint interval differs
+ * from the chunk size is rebuilt.
+ */
+public class IndexedFileProcessor implements FileProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedFileProcessor.class);
+
+    private final int chunkSize;
+    private final ExecutorService executorService;
+    private final TextMatcher matcher;
+
+    public IndexedFileProcessor(TextMatcher matcher, ExecutorService executorService, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        if (matcher == null) {
+            throw new IllegalArgumentException("Matcher must not be null.");
+        }
+        if (executorService == null || executorService.isShutdown()) {
+            throw new IllegalArgumentException("ExecutorService must not be null or in shut down state.");
+        }
+
+        this.matcher = matcher;
+        this.executorService = executorService;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void processTextFile(String filePath, ResultAggregator<?> resultAggregator) {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("The specified file does not exist: " + filePath);
+        }
+        if (resultAggregator == null) {
+            throw new IllegalArgumentException("ResultAggregator must not be null.");
+        }
+
+        Optional<LineOffsetIndex> index = LineOffsetIndex.load(path);
+        if (index.isPresent() && index.get().getInterval() != chunkSize) {
+            logger.info("Rebuilding index with {} lines per checkpoint instead of {}", chunkSize,
+                    index.get().getInterval());
+            index = Optional.empty();
+        }
+        if (index.isPresent()) {
+            logger.info("Processing file: {} using index with {} checkpoints", filePath, index.get().getCheckpointCount());
+            processWithIndex(path, index.get(), resultAggregator);
+        } else {
+            logger.info("Processing file: {} and building index", filePath);
+            processAndBuildIndex(path, resultAggregator);
+        }
+    }
+
+    private void processWithIndex(Path path, LineOffsetIndex index, ResultAggregator<?> resultAggregator) {
+        for (int checkpoint = 0; checkpoint < index.getCheckpointCount(); checkpoint++) {
+            long startByte = index.getByteOffset(checkpoint);
+            long endByte = checkpoint + 1 < index.getCheckpointCount()
+                    ? index.getByteOffset(checkpoint + 1)
+                    : index.getFileSize();
+            int lineOffset = index.getLineOffset(checkpoint);
+            long charOffset = index.getCharOffset(checkpoint);
+
+            resultAggregator.aggregateResults(CompletableFuture.supplyAsync(
+                    () -> matcher.findMatches(readLines(path, startByte, endByte), lineOffset, charOffset),
+                    executorService), endByte);
+        }
+    }
+
+    private void processAndBuildIndex(Path path, ResultAggregator<?> resultAggregator) {
+        try (FileChannel channel = FileChannel.open(path)) {
+            long fileSize = channel.size();
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            LineOffsetIndex.Builder indexBuilder = new LineOffsetIndex.Builder(chunkSize);
+            ByteLineReader reader = new ByteLineReader(channel, ByteLineReader.DEFAULT_BUFFER_SIZE);
+
+            List<String> lines = new ArrayList<>();
+            int lineOffset = 0;
+            long charOffset = 0;
+            long currentChunkLength = 0;
+
+            long lineStart = reader.position();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (lines.isEmpty()) {
+                    indexBuilder.addLine(lineOffset, lineStart, charOffset);
+                }
+                lines.add(line);
+                currentChunkLength += line.length() + System.lineSeparator().length();
+                lineStart = reader.position();
+
+                if (lines.size() == chunkSize) {
+                    submitChunk(resultAggregator, lines, lineOffset, charOffset, reader.position());
+                    lineOffset += lines.size();
+                    charOffset += currentChunkLength;
+                    currentChunkLength = 0;
+                    lines = new ArrayList<>();
+                }
+            }
+
+            if (!lines.isEmpty()) {
+                submitChunk(resultAggregator, lines, lineOffset, charOffset, reader.position());
+            }
+
+            saveIndex(path, indexBuilder.build(fileSize, lastModified));
+        } catch (IOException e) {
+            throw new UncheckedIOException("File processing failed: " + path, e);
+        }
+    }
+
+    private void saveIndex(Path path, LineOffsetIndex index) {
+        if (!index.isValidFor(path)) {
+            logger.warn("File changed while it was processed, index is not saved: {}", path);
+            return;
+        }
+        try {
+            index.save(path);
+            logger.info("Saved index with {} checkpoints: {}", index.getCheckpointCount(), LineOffsetIndex.sidecarPath(path));
+        } catch (UncheckedIOException e) {
+            logger.warn("Failed to save index for file: {}", path, e);
+        }
+    }
+
+    private void submitChunk(ResultAggregator<?> resultAggregator, List<String> lines, int lineOffset, long charOffset,
+                             long endOffset) {
+        resultAggregator.aggregateResults(
+                CompletableFuture.supplyAsync(() -> matcher.findMatches(lines, lineOffset, charOffset), executorService),
+                endOffset);
+    }
+
+    private static List<String> readLines(Path path, long startByte, long endByte) {
+        try (FileChannel channel = FileChannel.open(path)) {
+            return ByteLineReader.readLines(FileRanges.read(channel, startByte, endByte));
+        } catch (IOException e) {
+            throw new UncheckedIOException("File processing failed: " + path, e);
+        }
+    }
+}
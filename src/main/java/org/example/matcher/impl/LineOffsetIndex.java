@@ -0,0 +1,243 @@
+package org.example.matcher.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Sidecar index of a text file holding sampled checkpoints of the form
+ * <code>(line offset &rarr; byte offset, char offset)</code>, taken every fixed number of lines.
+ *
+ * <p>A checkpoint allows to start reading the file at its line without scanning the preceding lines,
+ * so chunks can be processed in parallel from the very beginning and a {@link org.example.matcher.Location}
+ * can be resolved to its line directly. Char offsets follow the same convention as the file processors:
+ * every line accounts for its length plus the length of {@link System#lineSeparator()}.
+ *
+ * <p>The index is stored next to the file with the {@value #SUFFIX} suffix and records the file size and
+ * modification time, so a stale index is detected and ignored.
+ */
+public final class LineOffsetIndex {
+
+    public static final String SUFFIX = ".lines";
+
+    private static final Logger logger = LoggerFactory.getLogger(LineOffsetIndex.class);
+    private static final int MAGIC = 0x544D4C49;
+    private static final int VERSION = 1;
+
+    private final long fileSize;
+    private final long lastModified;
+    private final int lineSeparatorLength;
+    private final int interval;
+    private final int[] lineOffsets;
+    private final long[] byteOffsets;
+    private final long[] charOffsets;
+
+    private LineOffsetIndex(long fileSize, long lastModified, int lineSeparatorLength, int interval,
+                            int[] lineOffsets, long[] byteOffsets, long[] charOffsets) {
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.lineSeparatorLength = lineSeparatorLength;
+        this.interval = interval;
+        this.lineOffsets = lineOffsets;
+        this.byteOffsets = byteOffsets;
+        this.charOffsets = charOffsets;
+    }
+
+    public static Path sidecarPath(Path file) {
+        return file.resolveSibling(file.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Loads the index of the given file, if one exists and is still valid for it.
+     */
+    public static Optional<LineOffsetIndex> load(Path file) {
+        Path indexPath = sidecarPath(file);
+        if (!Files.isRegularFile(indexPath)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.warn("Ignoring index with unknown format: {}", indexPath);
+                return Optional.empty();
+            }
+            long fileSize = in.readLong();
+            long lastModified = in.readLong();
+            int lineSeparatorLength = in.readInt();
+            int interval = in.readInt();
+            int count = in.readInt();
+            int[] lineOffsets = new int[count];
+            long[] byteOffsets = new long[count];
+            long[] charOffsets = new long[count];
+            for (int i = 0; i < count; i++) {
+                lineOffsets[i] = in.readInt();
+                byteOffsets[i] = in.readLong();
+                charOffsets[i] = in.readLong();
+            }
+
+            LineOffsetIndex index = new LineOffsetIndex(fileSize, lastModified, lineSeparatorLength, interval,
+                    lineOffsets, byteOffsets, charOffsets);
+            if (!index.isValidFor(file)) {
+                logger.info("Ignoring stale index: {}", indexPath);
+                return Optional.empty();
+            }
+            return Optional.of(index);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable index: {}", indexPath, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the index next to the given file, replacing any previous index atomically.
+     */
+    public void save(Path file) {
+        Path indexPath = sidecarPath(file);
+        Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(fileSize);
+                out.writeLong(lastModified);
+                out.writeInt(lineSeparatorLength);
+                out.writeInt(interval);
+                out.writeInt(lineOffsets.length);
+                for (int i = 0; i < lineOffsets.length; i++) {
+                    out.writeInt(lineOffsets[i]);
+                    out.writeLong(byteOffsets[i]);
+                    out.writeLong(charOffsets[i]);
+                }
+            }
+            Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write index: " + indexPath, e);
+        }
+    }
+
+    /**
+     * Checks that the given file still has the size and modification time recorded in the index.
+     */
+    public boolean isValidFor(Path file) {
+        try {
+            return Files.size(file) == fileSize
+                    && Files.getLastModifiedTime(file).toMillis() == lastModified
+                    && System.lineSeparator().length() == lineSeparatorLength;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads a single line of the given file, starting from the closest preceding checkpoint.
+     *
+     * @return the line, or <code>null</code> if the file has fewer lines
+     */
+    public String readLine(Path file, int lineOffset) {
+        if (lineOffset < 0) {
+            throw new IllegalArgumentException("Line offset must not be negative.");
+        }
+        if (lineOffsets.length == 0) {
+            return null;
+        }
+
+        int checkpoint = floorCheckpoint(lineOffset);
+        try (FileChannel channel = FileChannel.open(file)) {
+            channel.position(byteOffsets[checkpoint]);
+            ByteLineReader reader = new ByteLineReader(channel, 1 << 16);
+            String line = reader.readLine();
+            for (int i = lineOffsets[checkpoint]; i < lineOffset && line != null; i++) {
+                line = reader.readLine();
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read line " + lineOffset + " of " + file, e);
+        }
+    }
+
+    /**
+     * Returns the index of the last checkpoint at or before the given line.
+     */
+    public int floorCheckpoint(int lineOffset) {
+        int position = Arrays.binarySearch(lineOffsets, lineOffset);
+        return position >= 0 ? position : Math.max(0, -position - 2);
+    }
+
+    public int getCheckpointCount() {
+        return lineOffsets.length;
+    }
+
+    public int getLineOffset(int checkpoint) {
+        return lineOffsets[checkpoint];
+    }
+
+    public long getByteOffset(int checkpoint) {
+        return byteOffsets[checkpoint];
+    }
+
+    public long getCharOffset(int checkpoint) {
+        return charOffsets[checkpoint];
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Collects checkpoints while a file is scanned sequentially.
+     */
+    public static final class Builder {
+
+        private final int interval;
+        private int count;
+        private int[] lineOffsets = new int[64];
+        private long[] byteOffsets = new long[64];
+        private long[] charOffsets = new long[64];
+
+        public Builder(int interval) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException("Interval must be positive.");
+            }
+            this.interval = interval;
+        }
+
+        /**
+         * Records the start of a line. Only every {@code interval}-th line becomes a checkpoint.
+         */
+        public void addLine(int lineOffset, long byteOffset, long charOffset) {
+            if (lineOffset % interval != 0) {
+                return;
+            }
+            if (count == lineOffsets.length) {
+                lineOffsets = Arrays.copyOf(lineOffsets, count * 2);
+                byteOffsets = Arrays.copyOf(byteOffsets, count * 2);
+                charOffsets = Arrays.copyOf(charOffsets, count * 2);
+            }
+            lineOffsets[count] = lineOffset;
+            byteOffsets[count] = byteOffset;
+            charOffsets[count] = charOffset;
+            count++;
+        }
+
+        public LineOffsetIndex build(long fileSize, long lastModified) {
+            return new LineOffsetIndex(fileSize, lastModified, System.lineSeparator().length(), interval,
+                    Arrays.copyOf(lineOffsets, count), Arrays.copyOf(byteOffsets, count), Arrays.copyOf(charOffsets, count));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.ShardWorkerApplication;
+import org.example.matcher.WorkerLauncher;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Launches shard workers as JVM processes on the local machine, using the class path of the current JVM.
+ * Standard error of the workers is forwarded to the standard error of the current process.
+ */
+public class LocalProcessWorkerLauncher implements WorkerLauncher {
+
+    private final List<String> command;
+
+    public LocalProcessWorkerLauncher() {
+        this(List.of(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                ShardWorkerApplication.class.getName()));
+    }
+
+    public LocalProcessWorkerLauncher(List<String> command) {
+        if (command == null || command.isEmpty()) {
+            throw new IllegalArgumentException("Command must not be null or empty.");
+        }
+        this.command = List.copyOf(command);
+    }
+
+    @Override
+    public Process launch() throws IOException {
+        return new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+}
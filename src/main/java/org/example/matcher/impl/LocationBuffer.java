@@ -0,0 +1,169 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+
+import java.util.Arrays;
+
+/**
+ * Growable columns of <code>(term id, line offset, char offset, dictionary version)</code> tuples
+ * kept in primitive arrays, sortable in place by term id and position.
+ *
+ * <p>Instances are not thread-safe.
+ */
+final class LocationBuffer {
+
+    /**
+     * Number of bytes occupied by one buffered location.
+     */
+    static final int BYTES_PER_LOCATION = 4 + 4 + 8 + 4;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final int maxCapacity;
+    private int size;
+    private int[] termIds;
+    private int[] lineOffsets;
+    private long[] charOffsets;
+    private int[] dictionaryVersions;
+
+    LocationBuffer(int maxCapacity) {
+        if (maxCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.maxCapacity = maxCapacity;
+        int capacity = Math.min(INITIAL_CAPACITY, maxCapacity);
+        termIds = new int[capacity];
+        lineOffsets = new int[capacity];
+        charOffsets = new long[capacity];
+        dictionaryVersions = new int[capacity];
+    }
+
+    boolean isFull() {
+        return size == maxCapacity;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(int termId, Location location) {
+        if (size == termIds.length) {
+            grow();
+        }
+        termIds[size] = termId;
+        lineOffsets[size] = location.getLineOffset();
+        charOffsets[size] = location.getCharOffset();
+        dictionaryVersions[size] = location.getDictionaryVersion();
+        size++;
+    }
+
+    int termId(int index) {
+        return termIds[index];
+    }
+
+    int lineOffset(int index) {
+        return lineOffsets[index];
+    }
+
+    long charOffset(int index) {
+        return charOffsets[index];
+    }
+
+    int dictionaryVersion(int index) {
+        return dictionaryVersions[index];
+    }
+
+    /**
+     * Removes all locations but keeps the allocated arrays for reuse.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sorts the locations by term id, char offset and line offset.
+     */
+    void sort() {
+        quickSort(0, size - 1);
+    }
+
+    private void quickSort(int low, int high) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            int pivot = partition(low, high);
+            if (pivot - low < high - pivot) {
+                quickSort(low, pivot - 1);
+                low = pivot + 1;
+            } else {
+                quickSort(pivot + 1, high);
+                high = pivot - 1;
+            }
+        }
+        insertionSort(low, high);
+    }
+
+    private int partition(int low, int high) {
+        int middle = (low + high) >>> 1;
+        if (compare(middle, low) < 0) {
+            swap(middle, low);
+        }
+        if (compare(high, low) < 0) {
+            swap(high, low);
+        }
+        if (compare(high, middle) < 0) {
+            swap(high, middle);
+        }
+        swap(middle, high);
+
+        int store = low;
+        for (int i = low; i < high; i++) {
+            if (compare(i, high) < 0) {
+                swap(i, store++);
+            }
+        }
+        swap(store, high);
+        return store;
+    }
+
+    private void insertionSort(int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(j, j - 1) < 0; j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private int compare(int a, int b) {
+        int result = Integer.compare(termIds[a], termIds[b]);
+        if (result == 0) {
+            result = Long.compare(charOffsets[a], charOffsets[b]);
+        }
+        if (result == 0) {
+            result = Integer.compare(lineOffsets[a], lineOffsets[b]);
+        }
+        return result;
+    }
+
+    private void swap(int a, int b) {
+        int termId = termIds[a];
+        termIds[a] = termIds[b];
+        termIds[b] = termId;
+        int lineOffset = lineOffsets[a];
+        lineOffsets[a] = lineOffsets[b];
+        lineOffsets[b] = lineOffset;
+        long charOffset = charOffsets[a];
+        charOffsets[a] = charOffsets[b];
+        charOffsets[b] = charOffset;
+        int dictionaryVersion = dictionaryVersions[a];
+        dictionaryVersions[a] = dictionaryVersions[b];
+        dictionaryVersions[b] = dictionaryVersion;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(maxCapacity, termIds.length * 2L);
+        termIds = Arrays.copyOf(termIds, capacity);
+        lineOffsets = Arrays.copyOf(lineOffsets, capacity);
+        charOffsets = Arrays.copyOf(charOffsets, capacity);
+        dictionaryVersions = Arrays.copyOf(dictionaryVersions, capacity);
+    }
+}
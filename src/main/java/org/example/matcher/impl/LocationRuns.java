@@ -0,0 +1,235 @@
+package org.example.matcher.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorted runs of locations, stored in memory or in temporary files, and their k-way merge.
+ *
+ * <p>A run file is a sequence of records ordered by term id, char offset and line offset.
+ * Every record holds unsigned variable-length integers: the term id delta to the previous record, the line and char
+ * offsets (as deltas to the previous record of the same term, absolute for the first record of a term) and the
+ * dictionary version.
+ */
+final class LocationRuns {
+
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
+    private LocationRuns() {
+    }
+
+    /**
+     * Position of a run. {@link #next()} must be called before the first record is accessed.
+     */
+    abstract static class Cursor implements AutoCloseable {
+
+        int termId;
+        int lineOffset;
+        long charOffset;
+        int dictionaryVersion;
+
+        /**
+         * Advances to the next record.
+         *
+         * @return <code>false</code> at the end of the run
+         */
+        abstract boolean next() throws IOException;
+
+        @Override
+        public void close() throws IOException {
+        }
+
+        int compareTo(Cursor other) {
+            int result = Integer.compare(termId, other.termId);
+            if (result == 0) {
+                result = Long.compare(charOffset, other.charOffset);
+            }
+            if (result == 0) {
+                result = Integer.compare(lineOffset, other.lineOffset);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Iterates over a sorted {@link LocationBuffer}.
+     */
+    static final class MemoryCursor extends Cursor {
+
+        private final LocationBuffer buffer;
+        private int index = -1;
+
+        MemoryCursor(LocationBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        boolean next() {
+            if (++index >= buffer.size()) {
+                return false;
+            }
+            termId = buffer.termId(index);
+            lineOffset = buffer.lineOffset(index);
+            charOffset = buffer.charOffset(index);
+            dictionaryVersion = buffer.dictionaryVersion(index);
+            return true;
+        }
+    }
+
+    /**
+     * Reads a run file written by {@link #write(Cursor, Path)}.
+     */
+    static final class FileCursor extends Cursor {
+
+        private final InputStream in;
+
+        FileCursor(Path file) throws IOException {
+            this.in = new BufferedInputStream(Files.newInputStream(file), STREAM_BUFFER_SIZE);
+            this.termId = -1;
+        }
+
+        @Override
+        boolean next() throws IOException {
+            int first = in.read();
+            if (first < 0) {
+                return false;
+            }
+            int termIdDelta = Math.toIntExact(readVarLong(in, first));
+            int lineValue = Math.toIntExact(readVarLong(in, in.read()));
+            long charValue = readVarLong(in, in.read());
+            if (termIdDelta == 0) {
+                lineOffset += lineValue;
+                charOffset += charValue;
+            } else {
+                termId += termIdDelta;
+                lineOffset = lineValue;
+                charOffset = charValue;
+            }
+            dictionaryVersion = Math.toIntExact(readVarLong(in, in.read()));
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Merges sorted runs into a single sorted sequence.
+     */
+    static final class MergingCursor extends Cursor {
+
+        private final List<? extends Cursor> cursors;
+        private final PriorityQueue<Cursor> queue;
+        private boolean started;
+
+        MergingCursor(List<? extends Cursor> cursors) {
+            this.cursors = cursors;
+            this.queue = new PriorityQueue<>(Math.max(1, cursors.size()), Cursor::compareTo);
+        }
+
+        @Override
+        boolean next() throws IOException {
+            if (!started) {
+                started = true;
+                for (Cursor cursor : cursors) {
+                    if (cursor.next()) {
+                        queue.add(cursor);
+                    }
+                }
+            }
+
+            Cursor smallest = queue.poll();
+            if (smallest == null) {
+                return false;
+            }
+            termId = smallest.termId;
+            lineOffset = smallest.lineOffset;
+            charOffset = smallest.charOffset;
+            dictionaryVersion = smallest.dictionaryVersion;
+            if (smallest.next()) {
+                queue.add(smallest);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (Cursor cursor : cursors) {
+                try {
+                    cursor.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Writes the remaining records of a cursor to a new temporary file in the given directory.
+     */
+    static Path write(Cursor source, Path directory) throws IOException {
+        Path file = Files.createTempFile(directory, "locations-", ".run");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), STREAM_BUFFER_SIZE)) {
+            int termId = -1;
+            int lineOffset = 0;
+            long charOffset = 0;
+            while (source.next()) {
+                if (source.termId == termId) {
+                    writeVarLong(out, 0);
+                    writeVarLong(out, source.lineOffset - lineOffset);
+                    writeVarLong(out, source.charOffset - charOffset);
+                } else {
+                    writeVarLong(out, source.termId - termId);
+                    writeVarLong(out, source.lineOffset);
+                    writeVarLong(out, source.charOffset);
+                    termId = source.termId;
+                }
+                writeVarLong(out, source.dictionaryVersion);
+                lineOffset = source.lineOffset;
+                charOffset = source.charOffset;
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in, int first) throws IOException {
+        long value = 0;
+        int b = first;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (b < 0) {
+                throw new EOFException("Unexpected end of run file.");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            b = in.read();
+        }
+        throw new IOException("Malformed variable-length integer in run file.");
+    }
+}
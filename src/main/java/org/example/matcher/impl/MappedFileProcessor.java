@@ -0,0 +1,294 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.FileProcessor;
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Processes a memory-mapped text file in chunks of a fixed number of bytes, aligned to line boundaries.
+ *
+ * <p>Optionally, every match captures its surrounding text, either a number of lines before and after the matched line
+ * (like <code>grep -C</code>) or a number of bytes around the match. The context is a slice of the mapped file, so it
+ * is neither decoded nor copied until it is written, and it extends into adjacent chunks freely. The file is mapped in
+ * regions of up to {@value #MAX_REGION_SIZE} bytes, and context does not extend beyond the region of its match.
+ *
+ * <p>Chunks are matched with offsets relative to their start and positioned in file order once all preceding
+ * chunks have been counted.
+ */
+public class MappedFileProcessor implements FileProcessor {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    static final long MAX_REGION_SIZE = 1L << 30;
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileProcessor.class);
+
+    private final TextMatcher matcher;
+    private final ExecutorService executorService;
+    private final int chunkSize;
+    private final int contextLines;
+    private final int contextBytes;
+
+    /**
+     * @param chunkSize    the approximate number of bytes per chunk
+     * @param contextLines the number of lines captured before and after the line of every match, or 0
+     * @param contextBytes the number of bytes captured before and after every match, or 0
+     */
+    public MappedFileProcessor(TextMatcher matcher, ExecutorService executorService, int chunkSize,
+                               int contextLines, int contextBytes) {
+        if (matcher == null) {
+            throw new IllegalArgumentException("Matcher must not be null.");
+        }
+        if (executorService == null || executorService.isShutdown()) {
+            throw new IllegalArgumentException("ExecutorService must not be null or in shut down state.");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        if (contextLines < 0 || contextBytes < 0 || (contextLines > 0 && contextBytes > 0)) {
+            throw new IllegalArgumentException("Context must be given either in lines or in bytes, and must not be negative.");
+        }
+
+        this.matcher = matcher;
+        this.executorService = executorService;
+        this.chunkSize = chunkSize;
+        this.contextLines = contextLines;
+        this.contextBytes = contextBytes;
+    }
+
+    @Override
+    public void processTextFile(String filePath, ResultAggregator<?> resultAggregator) {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("The specified file does not exist: " + filePath);
+        }
+        if (resultAggregator == null) {
+            throw new IllegalArgumentException("ResultAggregator must not be null.");
+        }
+
+        logger.info("Processing memory-mapped file: {}", filePath);
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            CompletableFuture<Location> chunkStart = CompletableFuture.completedFuture(new Location(0, 0));
+
+            for (long regionStart = 0; regionStart < size; ) {
+                long regionEnd = regionStart + MAX_REGION_SIZE >= size
+                        ? size
+                        : FileRanges.nextLineStart(channel, regionStart + MAX_REGION_SIZE);
+                if (regionEnd - regionStart > Integer.MAX_VALUE) {
+                    throw new IOException("Line starting before byte " + (regionStart + MAX_REGION_SIZE) + " is too long to be mapped.");
+                }
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionEnd - regionStart);
+
+                for (int start = 0; start < region.limit(); ) {
+                    int chunkFrom = start;
+                    int chunkTo = chunkEnd(region, start);
+                    CompletableFuture<Chunk> chunk =
+                            CompletableFuture.supplyAsync(() -> scan(region, chunkFrom, chunkTo), executorService);
+
+                    resultAggregator.aggregateResults(
+                            chunk.thenCombine(chunkStart, (result, base) -> PartialResults.relocate(result.matches, base)),
+                            regionStart + chunkTo);
+                    chunkStart = chunk.thenCombine(chunkStart,
+                            (result, base) -> PartialResults.advance(base, result.lineCount, result.charCount));
+                    start = chunkTo;
+                }
+                regionStart = regionEnd;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("File processing failed: " + filePath, e);
+        }
+    }
+
+    private int chunkEnd(ByteBuffer region, int start) {
+        int limit = region.limit();
+        if ((long) start + chunkSize >= limit) {
+            return limit;
+        }
+        for (int i = start + chunkSize - 1; i < limit; i++) {
+            if (region.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+
+    private Chunk scan(ByteBuffer region, int start, int end) {
+        ByteBuffer slice = region.duplicate();
+        slice.position(start).limit(end);
+        ByteLineReader reader = new ByteLineReader(slice);
+
+        List<String> lines = new ArrayList<>();
+        int[] lineStarts = new int[64];
+        long[] lineCharStarts = new long[64];
+        long charCount = 0;
+        try {
+            while (true) {
+                int lineStart = start + (int) reader.position();
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                if (lines.size() == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lines.size() * 2);
+                    lineCharStarts = Arrays.copyOf(lineCharStarts, lines.size() * 2);
+                }
+                lineStarts[lines.size()] = lineStart;
+                lineCharStarts[lines.size()] = charCount;
+                lines.add(line);
+                charCount += line.length() + System.lineSeparator().length();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode chunk.", e);
+        }
+
+        Map<String, List<Location>> matches = lines.isEmpty() ? Map.of() : matcher.findMatches(lines, 0, 0);
+        if (contextLines > 0 || contextBytes > 0) {
+            matches = captureContext(region, matches, lineStarts, lineCharStarts);
+        }
+        return new Chunk(matches, lines.size(), charCount);
+    }
+
+    private Map<String, List<Location>> captureContext(ByteBuffer region, Map<String, List<Location>> matches,
+                                                       int[] lineStarts, long[] lineCharStarts) {
+        Map<String, List<Location>> withContext = new HashMap<>(matches.size() * 2);
+        for (Map.Entry<String, List<Location>> entry : matches.entrySet()) {
+            List<Location> locations = new ArrayList<>(entry.getValue().size());
+            for (Location location : entry.getValue()) {
+                int line = location.getLineOffset();
+                int hitStart = skipChars(region, lineStarts[line], location.getCharOffset() - lineCharStarts[line]);
+                int hitEnd = skipChars(region, hitStart, entry.getKey().length());
+                ByteBuffer context = contextLines > 0
+                        ? lineContext(region, lineStarts[line], hitStart)
+                        : byteContext(region, hitStart, hitEnd);
+                locations.add(new Location(location.getLineOffset(), location.getCharOffset(),
+                        location.getDictionaryVersion(), context));
+            }
+            withContext.put(entry.getKey(), locations);
+        }
+        return withContext;
+    }
+
+    private ByteBuffer lineContext(ByteBuffer region, int lineStart, int hitStart) {
+        int from = lineStart;
+        for (int i = 0; i < contextLines && from > 0; i++) {
+            from = previousLineStart(region, from);
+        }
+        int to = lineEnd(region, hitStart);
+        for (int i = 0; i < contextLines && to < region.limit(); i++) {
+            int next = skipTerminator(region, to);
+            if (next >= region.limit()) {
+                break;
+            }
+            to = lineEnd(region, next);
+        }
+        return slice(region, from, to);
+    }
+
+    private ByteBuffer byteContext(ByteBuffer region, int hitStart, int hitEnd) {
+        int from = Math.max(0, hitStart - contextBytes);
+        while (from < hitStart && isContinuationByte(region.get(from))) {
+            from++;
+        }
+        int to = (int) Math.min(region.limit(), (long) hitEnd + contextBytes);
+        while (to > hitEnd && to < region.limit() && isContinuationByte(region.get(to))) {
+            to--;
+        }
+        return slice(region, from, to);
+    }
+
+    /**
+     * Returns the position after the given number of UTF-16 chars, decoded from UTF-8 starting at <code>from</code>.
+     */
+    private static int skipChars(ByteBuffer region, int from, long chars) {
+        int position = from;
+        for (long skipped = 0; skipped < chars && position < region.limit(); ) {
+            int b = region.get(position) & 0xFF;
+            if (b < 0x80) {
+                position++;
+                skipped++;
+            } else if (b >= 0xF0) {
+                position += 4;
+                skipped += 2;
+            } else if (b >= 0xE0) {
+                position += 3;
+                skipped++;
+            } else {
+                position += 2;
+                skipped++;
+            }
+        }
+        return Math.min(position, region.limit());
+    }
+
+    private static int previousLineStart(ByteBuffer region, int lineStart) {
+        int position = lineStart - 1;
+        if (position > 0 && region.get(position) == '\n' && region.get(position - 1) == '\r') {
+            position--;
+        }
+        while (position > 0 && !isLineTerminator(region.get(position - 1))) {
+            position--;
+        }
+        return position;
+    }
+
+    private static int lineEnd(ByteBuffer region, int position) {
+        while (position < region.limit() && !isLineTerminator(region.get(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int skipTerminator(ByteBuffer region, int lineEnd) {
+        if (region.get(lineEnd) == '\r' && lineEnd + 1 < region.limit() && region.get(lineEnd + 1) == '\n') {
+            return lineEnd + 2;
+        }
+        return lineEnd + 1;
+    }
+
+    private static boolean isLineTerminator(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    private static boolean isContinuationByte(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    private static ByteBuffer slice(ByteBuffer region, int from, int to) {
+        ByteBuffer slice = region.duplicate();
+        slice.position(from).limit(to);
+        return slice;
+    }
+
+    private static final class Chunk {
+
+        private final Map<String, List<Location>> matches;
+        private final int lineCount;
+        private final long charCount;
+
+        private Chunk(Map<String, List<Location>> matches, int lineCount, long charCount) {
+            this.matches = matches;
+            this.lineCount = lineCount;
+            this.charCount = charCount;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes results as newline-delimited JSON, one object per match or term count:
+ * <pre>
+ * {"term":"Timothy","lineOffset":13387,"charOffset":1018975}
+ * {"term":"Jason","count":1214,"lowerBound":1190,"upperBound":1214}
+ * </pre>
+ * The <code>dictionaryVersion</code> of a match is only written for matches found after the search terms were reloaded,
+ * the <code>context</code> only if it was captured. Partial results end with
+ * <code>{"partial":true,"scannedBytes":...,"fileSize":...}</code>.
+ */
+public class NdjsonResultWriter extends ChannelResultWriter {
+
+    public NdjsonResultWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public NdjsonResultWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    @Override
+    public void writeLocation(String term, Location location) {
+        putAscii("{\"term\":");
+        putJsonString(term);
+        putAscii(",\"lineOffset\":");
+        putLong(location.getLineOffset());
+        putAscii(",\"charOffset\":");
+        putLong(location.getCharOffset());
+        if (location.getDictionaryVersion() != 0) {
+            putAscii(",\"dictionaryVersion\":");
+            putLong(location.getDictionaryVersion());
+        }
+        ByteBuffer context = location.getContext();
+        if (context != null) {
+            putAscii(",\"context\":\"");
+            putEscapedUtf8(context);
+            put((byte) '"');
+        }
+        putAscii("}\n");
+    }
+
+    @Override
+    public void writeFrequency(TermFrequency frequency) {
+        putAscii("{\"term\":");
+        putJsonString(frequency.getTerm());
+        putAscii(",\"count\":");
+        putLong(frequency.getCount());
+        putAscii(",\"lowerBound\":");
+        putLong(frequency.getLowerBound());
+        putAscii(",\"upperBound\":");
+        putLong(frequency.getUpperBound());
+        putAscii("}\n");
+    }
+
+    @Override
+    public void writePartialScan(long scannedBytes, long fileSize) {
+        putAscii("{\"partial\":true,\"scannedBytes\":");
+        putLong(scannedBytes);
+        putAscii(",\"fileSize\":");
+        putLong(fileSize);
+        putAscii("}\n");
+    }
+
+    private void putJsonString(String value) {
+        put((byte) '"');
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            if (codePoint == '"' || codePoint == '\\') {
+                put((byte) '\\');
+                put((byte) codePoint);
+            } else if (codePoint < 0x20) {
+                putAscii("\\u00");
+                put((byte) HEX_DIGITS[codePoint >> 4]);
+                put((byte) HEX_DIGITS[codePoint & 0xF]);
+            } else {
+                putCodePoint(codePoint);
+            }
+            i += Character.charCount(codePoint);
+        }
+        put((byte) '"');
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers for partial results of chunks whose position in the file is only known after they were matched.
+ */
+final class PartialResults {
+
+    private PartialResults() {
+    }
+
+    /**
+     * Shifts all locations of a partial result that was matched with offsets relative to its chunk.
+     *
+     * @param base the line and char offset of the chunk start in the file
+     */
+    static Map<String, List<Location>> relocate(Map<String, List<Location>> partialResult, Location base) {
+        if (base.getLineOffset() == 0 && base.getCharOffset() == 0) {
+            return partialResult;
+        }
+
+        Map<String, List<Location>> relocated = new HashMap<>(partialResult.size() * 2);
+        for (Map.Entry<String, List<Location>> entry : partialResult.entrySet()) {
+            List<Location> locations = new ArrayList<>(entry.getValue().size());
+            for (Location location : entry.getValue()) {
+                locations.add(new Location(base.getLineOffset() + location.getLineOffset(),
+                        base.getCharOffset() + location.getCharOffset(), location.getDictionaryVersion(),
+                        location.getContext()));
+            }
+            relocated.put(entry.getKey(), locations);
+        }
+        return relocated;
+    }
+
+    /**
+     * Returns the position following a chunk that starts at <code>base</code> and spans the given lines and chars.
+     */
+    static Location advance(Location base, int lineCount, long charCount) {
+        return new Location(base.getLineOffset() + lineCount, base.getCharOffset() + charCount);
+    }
+
+    /**
+     * Combines the partial results of two consecutive ranges, keeping the locations of the first range first.
+     */
+    static Map<String, List<Location>> concat(Map<String, List<Location>> first, Map<String, List<Location>> second) {
+        if (first.isEmpty()) {
+            return second;
+        }
+        if (second.isEmpty()) {
+            return first;
+        }
+
+        Map<String, List<Location>> combined = new HashMap<>(first.size() * 2);
+        first.forEach((term, locations) -> combined.put(term, new ArrayList<>(locations)));
+        second.forEach((term, locations) -> combined.computeIfAbsent(term, k -> new ArrayList<>()).addAll(locations));
+        return combined;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TextMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link TextMatcher} whose search terms can be replaced while chunks are being matched.
+ *
+ * <p>A new {@link AhoCorasickTextMatcher} is built on a background thread and published atomically once it is
+ * complete. Every chunk is matched entirely by the matcher that was current when the chunk started, so chunks
+ * in progress finish on the old dictionary while new chunks use the new one, and matching never waits for a build.
+ * Every {@link Location} records the version of the dictionary that produced it, starting with 0.
+ */
+public class ReloadableTextMatcher implements TextMatcher, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReloadableTextMatcher.class);
+
+    private final boolean caseInsensitive;
+    private final AtomicReference<AhoCorasickTextMatcher> current;
+    private final AtomicInteger currentVersion = new AtomicInteger();
+    private final ExecutorService buildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dictionary-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReloadableTextMatcher(Set<String> searchTerms, boolean caseInsensitive) {
+        this.caseInsensitive = caseInsensitive;
+        this.current = new AtomicReference<>(new AhoCorasickTextMatcher(searchTerms, caseInsensitive, 0));
+    }
+
+    @Override
+    public Map<String, List<Location>> findMatches(List<String> lines, int startingLineOffset, long startingCharOffset) {
+        return current.get().findMatches(lines, startingLineOffset, startingCharOffset);
+    }
+
+    /**
+     * Builds a matcher for the given search terms in the background and publishes it once it is complete.
+     * Reloads are applied in the order they are requested, and only published dictionaries consume a version.
+     *
+     * @return the version of the new dictionary, completed once it is used for new chunks
+     */
+    public CompletableFuture<Integer> reload(Set<String> searchTerms) {
+        Set<String> terms = Set.copyOf(searchTerms);
+        return CompletableFuture.supplyAsync(() -> {
+            int version = currentVersion.get() + 1;
+            AhoCorasickTextMatcher matcher = new AhoCorasickTextMatcher(terms, caseInsensitive, version);
+            current.set(matcher);
+            currentVersion.set(version);
+            logger.info("Published dictionary version {} with {} search terms", version, terms.size());
+            return version;
+        }, buildExecutor);
+    }
+
+    /**
+     * Returns the version of the dictionary used for new chunks.
+     */
+    public int getVersion() {
+        return currentVersion.get();
+    }
+
+    @Override
+    public void close() {
+        buildExecutor.shutdownNow();
+    }
+}
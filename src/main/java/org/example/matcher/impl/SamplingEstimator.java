@@ -0,0 +1,269 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+import org.example.matcher.TextMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Estimates how often each search term occurs in a file by matching a random sample of its chunks.
+ *
+ * <p>The file is divided into chunks of a fixed number of bytes, each extended to the end of its last line.
+ * Chunks are drawn without replacement in a random order determined by the seed. The matches per byte of the sampled
+ * chunks are extrapolated to the size of the file (a ratio estimate, which stays unbiased for chunks of unequal length).
+ * Every estimate comes with the bounds of a 95% confidence interval, derived from the variance between the sampled
+ * chunks; the lower bound is never less than the number of matches actually seen. When all chunks are sampled, the
+ * counts are exact.
+ *
+ * <p>Sampling stops after the given fraction of chunks, or earlier once the confidence interval of every term seen at
+ * least {@value #MIN_SAMPLED_MATCHES} times is within the target relative error of its estimate.
+ */
+public class SamplingEstimator {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    static final int MIN_SAMPLED_CHUNKS = 30;
+    static final int MIN_SAMPLED_MATCHES = 30;
+
+    private static final double Z_95 = 1.96;
+
+    private static final Logger logger = LoggerFactory.getLogger(SamplingEstimator.class);
+
+    private final TextMatcher matcher;
+    private final ExecutorService executorService;
+    private final int chunkSize;
+    private final double fraction;
+    private final double targetError;
+    private final long seed;
+    private final int limit;
+
+    /**
+     * @param chunkSize   the number of bytes per chunk
+     * @param fraction    the maximum fraction of chunks to sample, in <code>(0, 1]</code>
+     * @param targetError the relative error at which sampling stops early, or 0 to always sample the full fraction
+     * @param seed        the seed of the random chunk order
+     * @param limit       the maximum number of most frequent terms to return
+     */
+    public SamplingEstimator(TextMatcher matcher, ExecutorService executorService, int chunkSize,
+                             double fraction, double targetError, long seed, int limit) {
+        if (matcher == null) {
+            throw new IllegalArgumentException("Matcher must not be null.");
+        }
+        if (executorService == null || executorService.isShutdown()) {
+            throw new IllegalArgumentException("ExecutorService must not be null or in shut down state.");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        if (!(fraction > 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Sample fraction must be greater than 0 and at most 1.");
+        }
+        if (!(targetError >= 0 && targetError < 1)) {
+            throw new IllegalArgumentException("Target error must be at least 0 and less than 1.");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+
+        this.matcher = matcher;
+        this.executorService = executorService;
+        this.chunkSize = chunkSize;
+        this.fraction = fraction;
+        this.targetError = targetError;
+        this.seed = seed;
+        this.limit = limit;
+    }
+
+    /**
+     * Samples the given file and returns the estimated counts of the most frequent terms, most frequent first.
+     */
+    public List<TermFrequency> estimate(String filePath) {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("The specified file does not exist: " + filePath);
+        }
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            int chunkCount = Math.toIntExact(Math.max(1, (size + chunkSize - 1) / chunkSize));
+            int maxSampledChunks = Math.max(Math.min(2, chunkCount), (int) Math.ceil(fraction * chunkCount));
+            int[] order = shuffledChunks(chunkCount);
+
+            Sample sample = new Sample(chunkCount, size);
+            int sampledChunks = 0;
+            while (sampledChunks < maxSampledChunks) {
+                int batchSize = targetError > 0
+                        ? Math.max(MIN_SAMPLED_CHUNKS, sampledChunks / 2)
+                        : maxSampledChunks;
+                int batchEnd = Math.min(maxSampledChunks, sampledChunks + batchSize);
+
+                List<CompletableFuture<ChunkCounts>> counts = new ArrayList<>(batchEnd - sampledChunks);
+                for (int i = sampledChunks; i < batchEnd; i++) {
+                    int chunk = order[i];
+                    counts.add(CompletableFuture.supplyAsync(() -> countMatches(channel, size, chunk), executorService));
+                }
+                for (CompletableFuture<ChunkCounts> chunkCounts : counts) {
+                    sample.add(chunkCounts.join());
+                }
+                sampledChunks = batchEnd;
+
+                if (targetError > 0 && sampledChunks >= MIN_SAMPLED_CHUNKS && sample.isWithinError(targetError)) {
+                    break;
+                }
+            }
+
+            logger.info("Sampled {} of {} chunks of file: {}", sampledChunks, chunkCount, filePath);
+            return sample.toEstimates(limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException("File sampling failed: " + filePath, e);
+        }
+    }
+
+    private int[] shuffledChunks(int chunkCount) {
+        int[] order = new int[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = chunkCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int chunk = order[i];
+            order[i] = order[j];
+            order[j] = chunk;
+        }
+        return order;
+    }
+
+    /**
+     * Counts the matches of the lines starting within the given chunk.
+     */
+    private ChunkCounts countMatches(FileChannel channel, long size, int chunk) {
+        try {
+            long start = FileRanges.nextLineStart(channel, (long) chunk * chunkSize);
+            long end = FileRanges.nextLineStart(channel, Math.min(size, (long) (chunk + 1) * chunkSize));
+            if (start >= end) {
+                return new ChunkCounts(0, Map.of());
+            }
+            List<String> lines = ByteLineReader.readLines(FileRanges.read(channel, start, end));
+            Map<String, Integer> counts = new HashMap<>();
+            for (Map.Entry<String, List<Location>> entry : matcher.findMatches(lines, 0, 0).entrySet()) {
+                counts.put(entry.getKey(), entry.getValue().size());
+            }
+            return new ChunkCounts(end - start, counts);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read chunk " + chunk, e);
+        }
+    }
+
+    private static final class ChunkCounts {
+
+        private final long length;
+        private final Map<String, Integer> counts;
+
+        private ChunkCounts(long length, Map<String, Integer> counts) {
+            this.length = length;
+            this.counts = counts;
+        }
+    }
+
+    /**
+     * Sums over the sampled chunks of their length <code>x</code> and, per term, of its count <code>y</code>.
+     * Chunks without a match of a term contribute nothing to its sums.
+     */
+    private static final class Sample {
+
+        private final int chunkCount;
+        private final long fileSize;
+        private final Map<String, TermSums> termSums = new HashMap<>();
+        private int size;
+        private double lengthSum;
+        private double lengthSquareSum;
+
+        Sample(int chunkCount, long fileSize) {
+            this.chunkCount = chunkCount;
+            this.fileSize = fileSize;
+        }
+
+        void add(ChunkCounts chunk) {
+            size++;
+            lengthSum += chunk.length;
+            lengthSquareSum += (double) chunk.length * chunk.length;
+            chunk.counts.forEach((term, count) -> {
+                TermSums sums = termSums.computeIfAbsent(term, t -> new TermSums());
+                sums.count += count;
+                sums.countSquares += (double) count * count;
+                sums.countLengthProducts += (double) count * chunk.length;
+            });
+        }
+
+        double estimate(TermSums sums) {
+            return lengthSum == 0 ? sums.count : sums.count / lengthSum * fileSize;
+        }
+
+        /**
+         * Returns the half-width of the 95% confidence interval of the estimated total,
+         * including the finite population correction.
+         */
+        double halfWidth(TermSums sums) {
+            if (size >= chunkCount || size < 2) {
+                return 0;
+            }
+            double ratio = sums.count / lengthSum;
+            double residualSquares = sums.countSquares - 2 * ratio * sums.countLengthProducts
+                    + ratio * ratio * lengthSquareSum;
+            double variance = Math.max(0, residualSquares / (size - 1));
+            double populationCorrection = 1 - (double) size / chunkCount;
+            return Z_95 * chunkCount * Math.sqrt(populationCorrection * variance / size);
+        }
+
+        boolean isWithinError(double targetError) {
+            boolean anyEstimated = false;
+            for (TermSums sums : termSums.values()) {
+                if (sums.count < MIN_SAMPLED_MATCHES) {
+                    continue;
+                }
+                anyEstimated = true;
+                if (halfWidth(sums) > targetError * estimate(sums)) {
+                    return false;
+                }
+            }
+            return anyEstimated;
+        }
+
+        List<TermFrequency> toEstimates(int limit) {
+            TopTermsCollector collector = new TopTermsCollector(limit);
+            for (Map.Entry<String, TermSums> entry : termSums.entrySet()) {
+                TermSums sums = entry.getValue();
+                double estimate = estimate(sums);
+                double halfWidth = halfWidth(sums);
+                long count = Math.max(sums.count, Math.round(estimate));
+                collector.offer(entry.getKey(), count,
+                        Math.max(sums.count, (long) Math.floor(estimate - halfWidth)),
+                        Math.max(count, (long) Math.ceil(estimate + halfWidth)));
+            }
+            return collector.toList();
+        }
+    }
+
+    private static final class TermSums {
+
+        private long count;
+        private double countSquares;
+        private double countLengthProducts;
+    }
+}
@@ -0,0 +1,300 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the progress of a scan, reports it at a fixed interval and enforces a deadline.
+ *
+ * <p>Wraps the aggregator that builds the result and registers every chunk with it in file order, but completes a
+ * chunk only once all preceding chunks are complete, so it always holds the matches of a contiguous prefix of the file.
+ * Chunks are merged by the delegate outside the lock of the monitor, on the thread that completed the prefix.
+ * Progress is derived from the end offsets passed with every chunk.
+ * When the deadline passes, the scan is cut off: no further chunks are accepted, the futures of pending chunks are
+ * cancelled, chunks that have not started yet are skipped by the matcher returned from {@link #cancellable(TextMatcher)},
+ * and the final result covers the prefix that was completed in time.
+ *
+ * <p>For input of unknown size, progress reports the scanned bytes and rate only, and a scan cut off by the deadline
+ * is always considered partial.
+ *
+ * <p>Only {@link CompletableFuture} results can be monitored.
+ *
+ * @param <R> the type of the final result
+ */
+public class ScanMonitor<R> implements ResultAggregator<R>, AutoCloseable {
+
+    public static final long UNKNOWN_SIZE = -1;
+
+    private static final Logger logger = LoggerFactory.getLogger(ScanMonitor.class);
+
+    private final ResultAggregator<R> delegate;
+    private final long fileSize;
+    private final long deadlineNanos;
+    private final long startNanos = System.nanoTime();
+    private final ScheduledExecutorService scheduler;
+    private final List<Runnable> deadlineActions = new CopyOnWriteArrayList<>();
+
+    private final Object lock = new Object();
+    private final Queue<Chunk> pendingChunks = new ArrayDeque<>();
+    private long submittedOffset;
+    private long reachedOffset;
+    private long completedBytes;
+    private volatile boolean cutOff;
+    private boolean deadlineReached;
+    private Throwable failure;
+
+    /**
+     * @param fileSize               the size of the scanned file in bytes, or {@link #UNKNOWN_SIZE} for a stream
+     * @param deadlineMillis         the time after which the scan is cut off, or 0 for no deadline
+     * @param progressIntervalMillis the interval at which progress is logged, or 0 to log no progress
+     */
+    public ScanMonitor(ResultAggregator<R> delegate, long fileSize, long deadlineMillis, long progressIntervalMillis) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate aggregator must not be null.");
+        }
+        if (fileSize < UNKNOWN_SIZE || deadlineMillis < 0 || progressIntervalMillis < 0) {
+            throw new IllegalArgumentException("File size, deadline and progress interval must not be negative.");
+        }
+
+        this.delegate = delegate;
+        this.fileSize = fileSize;
+        this.deadlineNanos = deadlineMillis > 0 ? startNanos + TimeUnit.MILLISECONDS.toNanos(deadlineMillis) : 0;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scan-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (deadlineMillis > 0) {
+            scheduler.schedule(this::cutOffAtDeadline, deadlineMillis, TimeUnit.MILLISECONDS);
+        }
+        if (progressIntervalMillis > 0) {
+            scheduler.scheduleAtFixedRate(this::reportProgress,
+                    progressIntervalMillis, progressIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns a matcher that fails with a {@link CancellationException} instead of matching once the scan is cut off.
+     */
+    public TextMatcher cancellable(TextMatcher matcher) {
+        return (lines, startingLineOffset, startingCharOffset) -> {
+            if (cutOff) {
+                throw new CancellationException("The scan deadline has passed.");
+            }
+            return matcher.findMatches(lines, startingLineOffset, startingCharOffset);
+        };
+    }
+
+    /**
+     * Runs the given action when the deadline passes during the scan, for example to close an input that blocks a read.
+     */
+    public void onDeadline(Runnable action) {
+        deadlineActions.add(action);
+    }
+
+    /**
+     * Accepts a chunk without a known end offset, which does not advance the progress.
+     */
+    @Override
+    public void aggregateResults(Future<Map<String, List<Location>>> partialResults) {
+        long endOffset;
+        synchronized (lock) {
+            endOffset = submittedOffset;
+        }
+        aggregateResults(partialResults, endOffset);
+    }
+
+    /**
+     * @throws CancellationException if the scan has been cut off, to stop the file processor from reading further
+     */
+    @Override
+    public void aggregateResults(Future<Map<String, List<Location>>> partialResults, long endOffset) {
+        if (!(partialResults instanceof CompletableFuture)) {
+            throw new IllegalArgumentException("Only CompletableFuture results can be monitored.");
+        }
+
+        CompletableFuture<Map<String, List<Location>>> future =
+                (CompletableFuture<Map<String, List<Location>>>) partialResults;
+        Chunk chunk;
+        synchronized (lock) {
+            if (cutOff) {
+                throw new CancellationException("The scan deadline has passed.");
+            }
+            chunk = new Chunk(future, submittedOffset, Math.max(submittedOffset, endOffset));
+            submittedOffset = chunk.endOffset;
+            pendingChunks.add(chunk);
+            delegate.aggregateResults(chunk.forwarded);
+        }
+        future.whenComplete((result, e) -> complete(chunk, result, e));
+    }
+
+    /**
+     * Waits until all chunks are completed or the deadline passes, then computes the result of the completed prefix.
+     */
+    @Override
+    public R computeFinalResult() {
+        synchronized (lock) {
+            try {
+                while (!pendingChunks.isEmpty() && failure == null && !cutOff) {
+                    if (deadlineNanos == 0) {
+                        lock.wait();
+                    } else {
+                        long remainingNanos = deadlineNanos - System.nanoTime();
+                        if (remainingNanos <= 0) {
+                            cutOff();
+                            break;
+                        }
+                        TimeUnit.NANOSECONDS.timedWait(lock, remainingNanos);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Result aggregation was interrupted.", e);
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Error while processing a chunk.", failure);
+            }
+            cutOff = true;
+        }
+        return delegate.computeFinalResult();
+    }
+
+    /**
+     * Whether the deadline passed before the whole file was scanned.
+     */
+    public boolean isPartial() {
+        synchronized (lock) {
+            return deadlineReached && (fileSize == UNKNOWN_SIZE || reachedOffset < fileSize);
+        }
+    }
+
+    /**
+     * Returns the end offset of the prefix of the file whose results have been aggregated.
+     */
+    public long getReachedOffset() {
+        synchronized (lock) {
+            return reachedOffset;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void complete(Chunk chunk, Map<String, List<Location>> result, Throwable e) {
+        List<Chunk> completedPrefix = new ArrayList<>();
+        synchronized (lock) {
+            if (cutOff || failure != null) {
+                return;
+            }
+            if (e != null) {
+                failure = e;
+                for (Chunk pending : pendingChunks) {
+                    pending.forwarded.completeExceptionally(e);
+                }
+                lock.notifyAll();
+                return;
+            }
+            chunk.result = result;
+            completedBytes += chunk.endOffset - chunk.startOffset;
+            while (!pendingChunks.isEmpty() && pendingChunks.peek().result != null) {
+                Chunk next = pendingChunks.poll();
+                reachedOffset = next.endOffset;
+                completedPrefix.add(next);
+            }
+            lock.notifyAll();
+        }
+        for (Chunk next : completedPrefix) {
+            next.forwarded.complete(next.result);
+        }
+    }
+
+    private void cutOffAtDeadline() {
+        synchronized (lock) {
+            if (cutOff) {
+                return;
+            }
+            cutOff();
+        }
+        for (Runnable action : deadlineActions) {
+            action.run();
+        }
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private void cutOff() {
+        cutOff = true;
+        deadlineReached = true;
+        lock.notifyAll();
+        for (Chunk chunk : pendingChunks) {
+            chunk.future.cancel(false);
+            chunk.forwarded.complete(Map.of());
+        }
+        if (fileSize == UNKNOWN_SIZE) {
+            logger.warn("Deadline reached, results cover the first {} bytes", reachedOffset);
+        } else if (reachedOffset < fileSize) {
+            logger.warn("Deadline reached, results cover the first {} of {} bytes", reachedOffset, fileSize);
+        }
+    }
+
+    void reportProgress() {
+        long done;
+        synchronized (lock) {
+            if (cutOff) {
+                return;
+            }
+            done = completedBytes;
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        double bytesPerSecond = done / seconds;
+        if (fileSize == UNKNOWN_SIZE) {
+            logger.info("Scanned {}, {}/s", formatBytes(done), formatBytes((long) bytesPerSecond));
+            return;
+        }
+        String eta = bytesPerSecond > 0 ? String.format("%.0f s", (fileSize - done) / bytesPerSecond) : "unknown";
+        logger.info("Scanned {} of {} ({}%), {}/s, ETA {}", formatBytes(done), formatBytes(fileSize),
+                fileSize > 0 ? done * 100 / fileSize : 100, formatBytes((long) bytesPerSecond), eta);
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        int unit = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+        return String.format("%.1f %sB", bytes / (double) (1L << (unit * 10)), "KMGTPE".charAt(unit - 1));
+    }
+
+    private static final class Chunk {
+
+        private final CompletableFuture<Map<String, List<Location>>> future;
+        private final CompletableFuture<Map<String, List<Location>>> forwarded = new CompletableFuture<>();
+        private final long startOffset;
+        private final long endOffset;
+        private Map<String, List<Location>> result;
+
+        private Chunk(CompletableFuture<Map<String, List<Location>>> future, long startOffset, long endOffset) {
+            this.future = future;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.matcher.impl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Describes a byte range of a file to be scanned by a worker process.
+ * The range must start and end at line boundaries.
+ */
+final class ShardRequest {
+
+    private static final int MAGIC = 0x544D5351;
+    private static final int VERSION = 1;
+
+    private final String filePath;
+    private final long startByte;
+    private final long endByte;
+    private final Set<String> searchTerms;
+    private final boolean caseInsensitive;
+    private final int chunkSize;
+    private final int threadCount;
+
+    ShardRequest(String filePath, long startByte, long endByte, Set<String> searchTerms,
+                 boolean caseInsensitive, int chunkSize, int threadCount) {
+        this.filePath = filePath;
+        this.startByte = startByte;
+        this.endByte = endByte;
+        this.searchTerms = searchTerms;
+        this.caseInsensitive = caseInsensitive;
+        this.chunkSize = chunkSize;
+        this.threadCount = threadCount;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeUTF(filePath);
+        data.writeLong(startByte);
+        data.writeLong(endByte);
+        data.writeBoolean(caseInsensitive);
+        data.writeInt(chunkSize);
+        data.writeInt(threadCount);
+        data.writeInt(searchTerms.size());
+        for (String term : searchTerms) {
+            data.writeUTF(term);
+        }
+        data.flush();
+    }
+
+    static ShardRequest readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("Input is not a shard request.");
+        }
+        String filePath = data.readUTF();
+        long startByte = data.readLong();
+        long endByte = data.readLong();
+        boolean caseInsensitive = data.readBoolean();
+        int chunkSize = data.readInt();
+        int threadCount = data.readInt();
+        int termCount = data.readInt();
+        Set<String> searchTerms = new HashSet<>();
+        for (int i = 0; i < termCount; i++) {
+            searchTerms.add(data.readUTF());
+        }
+        return new ShardRequest(filePath, startByte, endByte, searchTerms, caseInsensitive, chunkSize, threadCount);
+    }
+
+    String getFilePath() {
+        return filePath;
+    }
+
+    long getStartByte() {
+        return startByte;
+    }
+
+    long getEndByte() {
+        return endByte;
+    }
+
+    Set<String> getSearchTerms() {
+        return searchTerms;
+    }
+
+    boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    int getThreadCount() {
+        return threadCount;
+    }
+}
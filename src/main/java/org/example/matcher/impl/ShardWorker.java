@@ -0,0 +1,100 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TextMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Scans a single shard requested by a {@link ShardedFileProcessor}.
+ *
+ * <p>Locations are matched relative to the start of the shard, since the worker does not know how many
+ * lines and chars precede it. They are written in the {@link BinaryResultWriter} format, followed by
+ * a scanned range record the coordinator uses to position the next shard.
+ */
+public final class ShardWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardWorker.class);
+
+    private ShardWorker() {
+    }
+
+    /**
+     * Reads a shard request from <code>in</code>, scans the shard and writes the results to <code>out</code>.
+     */
+    public static void serve(InputStream in, OutputStream out) {
+        ShardRequest request;
+        try {
+            request = ShardRequest.readFrom(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the shard request.", e);
+        }
+
+        logger.info("Scanning bytes [{}, {}) of file: {}", request.getStartByte(), request.getEndByte(), request.getFilePath());
+        TextMatcher matcher = new AhoCorasickTextMatcher(request.getSearchTerms(), request.isCaseInsensitive());
+        ExecutorService executorService = Executors.newFixedThreadPool(request.getThreadCount());
+        try (BinaryResultWriter writer = new BinaryResultWriter(Channels.newChannel(out))) {
+            IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+            Location scanned = scan(request, matcher, executorService, aggregator);
+            aggregator.computeFinalResult().forEach(writer::writeLocations);
+            writer.writeScannedRange(scanned.getLineOffset(), scanned.getCharOffset());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static Location scan(ShardRequest request, TextMatcher matcher, ExecutorService executorService,
+                                 IncrementalResultAggregator aggregator) {
+        long length = request.getEndByte() - request.getStartByte();
+        try (FileChannel channel = FileChannel.open(Paths.get(request.getFilePath()))) {
+            channel.position(request.getStartByte());
+            ByteLineReader reader = new ByteLineReader(channel, ByteLineReader.DEFAULT_BUFFER_SIZE);
+
+            List<String> lines = new ArrayList<>();
+            int lineOffset = 0;
+            long charOffset = 0;
+            long currentChunkLength = 0;
+
+            String line;
+            while (reader.position() < length && (line = reader.readLine()) != null) {
+                lines.add(line);
+                currentChunkLength += line.length() + System.lineSeparator().length();
+
+                if (lines.size() == request.getChunkSize()) {
+                    submitChunk(matcher, executorService, aggregator, lines, lineOffset, charOffset);
+                    lineOffset += lines.size();
+                    charOffset += currentChunkLength;
+                    currentChunkLength = 0;
+                    lines = new ArrayList<>();
+                }
+            }
+
+            if (!lines.isEmpty()) {
+                submitChunk(matcher, executorService, aggregator, lines, lineOffset, charOffset);
+            }
+            return new Location(lineOffset + lines.size(), charOffset + currentChunkLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException("File processing failed: " + request.getFilePath(), e);
+        }
+    }
+
+    private static void submitChunk(TextMatcher matcher, ExecutorService executorService,
+                                    IncrementalResultAggregator aggregator, List<String> lines,
+                                    int lineOffset, long charOffset) {
+        aggregator.aggregateResults(CompletableFuture.supplyAsync(
+                () -> matcher.findMatches(lines, lineOffset, charOffset), executorService));
+    }
+}
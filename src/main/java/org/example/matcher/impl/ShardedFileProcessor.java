@@ -0,0 +1,221 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.FileProcessor;
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.WorkerLauncher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Processes a text file by splitting it into byte ranges aligned to lines and scanning each range
+ * in a separate worker process started by a {@link WorkerLauncher}.
+ *
+ * <p>Workers report locations relative to the start of their shard together with the number of lines and chars
+ * they scanned. Shards are positioned in file order as soon as all preceding shards completed,
+ * so the aggregated result is the same as the one of a single process scan.
+ * The threads of the given executor only wait for worker output. If one worker fails, all workers are destroyed.
+ *
+ * <p>Only a single file is split. The locations of a shard are buffered in memory until its worker exits,
+ * so the memory used grows with the number of matches of the largest shard.
+ */
+public class ShardedFileProcessor implements FileProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedFileProcessor.class);
+
+    private final WorkerLauncher launcher;
+    private final ExecutorService executorService;
+    private final Set<String> searchTerms;
+    private final boolean caseInsensitive;
+    private final int shardCount;
+    private final int threadsPerShard;
+    private final int chunkSize;
+
+    public ShardedFileProcessor(WorkerLauncher launcher, ExecutorService executorService, Set<String> searchTerms,
+                                boolean caseInsensitive, int shardCount, int threadsPerShard, int chunkSize) {
+        if (launcher == null) {
+            throw new IllegalArgumentException("Launcher must not be null.");
+        }
+        if (executorService == null || executorService.isShutdown()) {
+            throw new IllegalArgumentException("ExecutorService must not be null or in shut down state.");
+        }
+        if (searchTerms == null || searchTerms.isEmpty()) {
+            throw new IllegalArgumentException("Search terms must not be null or empty.");
+        }
+        if (shardCount <= 0 || threadsPerShard <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Shard count, threads per shard and chunk size must be positive.");
+        }
+
+        this.launcher = launcher;
+        this.executorService = executorService;
+        this.searchTerms = Set.copyOf(searchTerms);
+        this.caseInsensitive = caseInsensitive;
+        this.shardCount = shardCount;
+        this.threadsPerShard = threadsPerShard;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void processTextFile(String filePath, ResultAggregator<?> resultAggregator) {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("The specified file does not exist: " + filePath);
+        }
+        if (resultAggregator == null) {
+            throw new IllegalArgumentException("ResultAggregator must not be null.");
+        }
+
+        long[] boundaries = shardBoundaries(path);
+        logger.info("Processing file: {} in {} worker processes", filePath, boundaries.length - 1);
+
+        Workers workers = new Workers();
+        CompletableFuture<Location> shardStart = CompletableFuture.completedFuture(new Location(0, 0));
+        try {
+            for (int shard = 0; shard + 1 < boundaries.length; shard++) {
+                ShardRequest request = new ShardRequest(path.toAbsolutePath().toString(), boundaries[shard],
+                        boundaries[shard + 1], searchTerms, caseInsensitive, chunkSize, threadsPerShard);
+                Process process = start(request);
+                workers.add(process);
+                CompletableFuture<ShardResult> shardResult =
+                        CompletableFuture.supplyAsync(() -> readResult(process), executorService);
+                shardResult.whenComplete((result, e) -> {
+                    if (e != null) {
+                        workers.destroyAll();
+                    }
+                });
+
+                CompletableFuture<Map<String, List<Location>>> shardMatches =
+                        shardResult.thenCombine(shardStart, (result, base) -> PartialResults.relocate(result.matches, base));
+                shardMatches.whenComplete((result, e) -> {
+                    if (e instanceof CancellationException) {
+                        process.destroy();
+                    }
+                });
+                resultAggregator.aggregateResults(shardMatches, boundaries[shard + 1]);
+                shardStart = shardResult.thenCombine(shardStart,
+                        (result, base) -> PartialResults.advance(base, result.lineCount, result.charCount));
+            }
+        } catch (RuntimeException e) {
+            workers.destroyAll();
+            throw e;
+        }
+    }
+
+    private long[] shardBoundaries(Path path) {
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            List<Long> boundaries = new ArrayList<>();
+            boundaries.add(0L);
+            for (int shard = 1; shard <= shardCount; shard++) {
+                long boundary = shard == shardCount ? size : FileRanges.nextLineStart(channel, size * shard / shardCount);
+                if (boundary > boundaries.get(boundaries.size() - 1)) {
+                    boundaries.add(boundary);
+                }
+            }
+            return boundaries.stream().mapToLong(Long::longValue).toArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("File processing failed: " + path, e);
+        }
+    }
+
+    private Process start(ShardRequest request) {
+        try {
+            Process process = launcher.launch();
+            try (OutputStream out = process.getOutputStream()) {
+                request.writeTo(out);
+            }
+            return process;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start a shard worker.", e);
+        }
+    }
+
+    private static ShardResult readResult(Process process) {
+        ShardResult result = new ShardResult();
+        boolean scannedRangeRead = false;
+        boolean succeeded = false;
+        try (InputStream in = process.getInputStream()) {
+            BinaryResultReader reader = new BinaryResultReader(in);
+            BinaryResultReader.RecordType type;
+            while ((type = reader.next()) != null) {
+                switch (type) {
+                    case LOCATION:
+                        result.matches.computeIfAbsent(reader.getTerm(), term -> new ArrayList<>()).add(reader.getLocation());
+                        break;
+                    case SCANNED_RANGE:
+                        result.lineCount = reader.getScannedLines();
+                        result.charCount = reader.getScannedChars();
+                        scannedRangeRead = true;
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected record from a shard worker: " + type);
+                }
+            }
+
+            int exitCode = process.waitFor();
+            if (exitCode != 0 || !scannedRangeRead) {
+                throw new IllegalStateException("Shard worker failed with exit code " + exitCode + ".");
+            }
+            succeeded = true;
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read shard worker results.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shard worker.", e);
+        } finally {
+            if (!succeeded) {
+                process.destroy();
+            }
+        }
+    }
+
+    /**
+     * The launched worker processes, all of which are destroyed as soon as one shard fails.
+     */
+    private static final class Workers {
+
+        private final List<Process> processes = new ArrayList<>();
+        private boolean failed;
+
+        synchronized void add(Process process) {
+            if (failed) {
+                process.destroy();
+            } else {
+                processes.add(process);
+            }
+        }
+
+        synchronized void destroyAll() {
+            if (!failed) {
+                failed = true;
+                logger.warn("Destroying {} shard workers after a failure", processes.size());
+                processes.forEach(Process::destroy);
+            }
+        }
+    }
+
+    private static final class ShardResult {
+
+        private final Map<String, List<Location>> matches = new HashMap<>();
+        private int lineCount;
+        private long charCount;
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.TermFrequency;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving summary that tracks the most frequent terms of a weighted stream in fixed memory.
+ *
+ * <p>At most <code>capacity</code> counters are kept. When a new term arrives and all counters are taken,
+ * the counter with the smallest count is reassigned to the new term, which inherits that count as its error.
+ * Each reported count therefore overestimates the true count by at most its error.
+ * Counters are kept in a binary min-heap, so every update costs <code>O(log capacity)</code>.
+ *
+ * <p>Instances are not thread-safe.
+ */
+final class SpaceSavingSketch {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private int size;
+
+    SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>();
+        this.heap = new Counter[capacity];
+    }
+
+    void offer(String term, long weight) {
+        Counter counter = counters.get(term);
+        if (counter == null) {
+            if (size < capacity) {
+                counter = new Counter(term, weight, size);
+                heap[size++] = counter;
+                counters.put(term, counter);
+                siftUp(counter.heapIndex);
+                return;
+            }
+            counter = heap[0];
+            counters.remove(counter.term);
+            counter.term = term;
+            counter.error = counter.count;
+            counters.put(term, counter);
+        }
+        counter.count += weight;
+        siftDown(counter.heapIndex);
+    }
+
+    /**
+     * Returns the largest count a term that is not tracked by this sketch may have.
+     */
+    long minCount() {
+        return size < capacity ? 0 : heap[0].count;
+    }
+
+    /**
+     * Merges several sketches and returns the most frequent terms with their error bounds.
+     * A term missing from a full sketch is assumed to have occurred up to that sketch's minimum count,
+     * so the reported upper bound stays valid for every term.
+     */
+    static List<TermFrequency> mergeTop(Collection<SpaceSavingSketch> sketches, int limit) {
+        long sumOfMinimums = 0;
+        for (SpaceSavingSketch sketch : sketches) {
+            sumOfMinimums += sketch.minCount();
+        }
+
+        Map<String, long[]> merged = new HashMap<>();
+        for (SpaceSavingSketch sketch : sketches) {
+            long minCount = sketch.minCount();
+            for (int i = 0; i < sketch.size; i++) {
+                Counter counter = sketch.heap[i];
+                long[] estimate = merged.computeIfAbsent(counter.term, k -> new long[2]);
+                estimate[0] += counter.count - minCount;
+                estimate[1] += counter.error - minCount;
+            }
+        }
+
+        TopTermsCollector collector = new TopTermsCollector(limit);
+        for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+            long count = entry.getValue()[0] + sumOfMinimums;
+            long error = entry.getValue()[1] + sumOfMinimums;
+            collector.offer(entry.getKey(), count, Math.max(0, count - error), count);
+        }
+        return collector.toList();
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (heap[child].count >= counter.count) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+
+    private static final class Counter {
+
+        private String term;
+        private long count;
+        private long error;
+        private int heapIndex;
+
+        Counter(String term, long count, int heapIndex) {
+            this.term = term;
+            this.count = count;
+            this.heapIndex = heapIndex;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Locations collected by a {@link SpillingResultAggregator}, kept in sorted runs on disk and in memory.
+ * The locations are grouped by term in the order terms were first matched, and ordered by offset within a term.
+ * Closing the result deletes its run files.
+ */
+public class SpilledResult implements AutoCloseable {
+
+    private final List<String> terms;
+    private final List<Path> runs;
+    private final LocationBuffer buffer;
+
+    SpilledResult(List<String> terms, List<Path> runs, LocationBuffer buffer) {
+        this.terms = terms;
+        this.runs = runs;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Streams all locations to the given writer, merging the runs on the fly.
+     */
+    public void writeTo(ResultWriter writer) {
+        List<LocationRuns.Cursor> cursors = new ArrayList<>();
+        cursors.add(new LocationRuns.MemoryCursor(buffer));
+        try (LocationRuns.MergingCursor cursor = new LocationRuns.MergingCursor(cursors)) {
+            for (Path run : runs) {
+                cursors.add(new LocationRuns.FileCursor(run));
+            }
+            while (cursor.next()) {
+                writer.writeLocation(terms.get(cursor.termId),
+                        new Location(cursor.lineOffset, cursor.charOffset, cursor.dictionaryVersion));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read spilled locations.", e);
+        }
+    }
+
+    /**
+     * Returns the number of run files the locations were spilled to.
+     */
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    @Override
+    public void close() {
+        SpillingResultAggregator.deleteRuns(runs);
+    }
+}
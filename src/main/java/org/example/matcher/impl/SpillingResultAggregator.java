@@ -0,0 +1,217 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the locations of all matches within a fixed memory budget, spilling sorted runs to temporary files.
+ *
+ * <p>Locations are buffered as <code>(term id, line offset, char offset)</code> tuples in primitive arrays.
+ * The budget is shared by the term dictionary and two location buffers: when the active buffer is full, it is swapped
+ * with the spare one, and the thread that filled it sorts it and writes it to a run file in a compact variable-length
+ * format without holding the lock, so other threads keep buffering. Buffering only waits if the spare buffer is
+ * still being spilled. The final result streams a k-way merge of all runs, so it never holds more than one record per
+ * run in memory. If there are more runs than can be merged at once, groups of runs are merged into larger runs first.
+ * Once a chunk fails, all runs are deleted and further locations are dropped.
+ */
+public class SpillingResultAggregator extends AbstractMergingResultAggregator<SpilledResult> {
+
+    static final int MAX_MERGE_WIDTH = 64;
+
+    /**
+     * Estimated number of bytes a term occupies in the dictionary, in addition to two bytes per character.
+     */
+    static final int BYTES_PER_TERM = 96;
+
+    private static final Logger logger = LoggerFactory.getLogger(SpillingResultAggregator.class);
+
+    private final Object lock = new Object();
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private LocationBuffer buffer;
+    private LocationBuffer spare;
+    private long termBytes;
+    private boolean discarded;
+
+    /**
+     * @param memoryBudget the maximum number of bytes used to buffer locations and their terms
+     */
+    public SpillingResultAggregator(long memoryBudget) {
+        this(memoryBudget, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    public SpillingResultAggregator(long memoryBudget, Path tempDirectory) {
+        if (memoryBudget < 2L * LocationBuffer.BYTES_PER_LOCATION) {
+            throw new IllegalArgumentException("Memory budget must hold at least two locations.");
+        }
+        if (tempDirectory == null || !Files.isDirectory(tempDirectory)) {
+            throw new IllegalArgumentException("Temporary directory must exist: " + tempDirectory);
+        }
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, memoryBudget / 2 / LocationBuffer.BYTES_PER_LOCATION);
+        this.buffer = new LocationBuffer(capacity);
+        this.spare = new LocationBuffer(capacity);
+    }
+
+    @Override
+    protected void merge(Map<String, List<Location>> partialResult) {
+        for (Map.Entry<String, List<Location>> entry : partialResult.entrySet()) {
+            List<Location> locations = entry.getValue();
+            int added = 0;
+            while (added < locations.size()) {
+                LocationBuffer full = null;
+                synchronized (lock) {
+                    if (discarded) {
+                        return;
+                    }
+                    int termId = termId(entry.getKey());
+                    while (added < locations.size() && !isFull()) {
+                        buffer.add(termId, locations.get(added++));
+                    }
+                    if (isFull()) {
+                        full = swapBuffers();
+                    }
+                }
+                if (full != null) {
+                    spill(full);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected SpilledResult buildResult() {
+        synchronized (lock) {
+            awaitSpare();
+            spare = null;
+            buffer.sort();
+            try {
+                while (runs.size() >= MAX_MERGE_WIDTH) {
+                    mergeRuns();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to merge spilled locations.", e);
+            }
+            logger.info("Collected matches of {} terms in {} spilled runs", terms.size(), runs.size());
+            return new SpilledResult(List.copyOf(terms), List.copyOf(runs), buffer);
+        }
+    }
+
+    @Override
+    protected void discard() {
+        synchronized (lock) {
+            discarded = true;
+            deleteRuns(runs);
+            runs.clear();
+        }
+    }
+
+    private int termId(String term) {
+        Integer termId = termIds.get(term);
+        if (termId == null) {
+            termId = terms.size();
+            termIds.put(term, termId);
+            terms.add(term);
+            termBytes += BYTES_PER_TERM + 2L * term.length();
+        }
+        return termId;
+    }
+
+    /**
+     * Checks whether the active buffer uses its half of the budget left by the terms. An empty buffer is never full.
+     */
+    private boolean isFull() {
+        return buffer.isFull() || (buffer.size() > 0
+                && 2L * buffer.size() * LocationBuffer.BYTES_PER_LOCATION + termBytes >= memoryBudget);
+    }
+
+    /**
+     * Makes the spare buffer active, waiting for its spill to complete, and returns the full buffer.
+     */
+    private LocationBuffer swapBuffers() {
+        awaitSpare();
+        LocationBuffer full = buffer;
+        buffer = spare;
+        spare = null;
+        return full;
+    }
+
+    private void awaitSpare() {
+        try {
+            while (spare == null) {
+                lock.wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for locations to be spilled.", e);
+        }
+    }
+
+    /**
+     * Sorts and writes a full buffer without holding the lock, then returns it as the spare buffer.
+     */
+    private void spill(LocationBuffer full) {
+        Path run = null;
+        try {
+            full.sort();
+            run = LocationRuns.write(new LocationRuns.MemoryCursor(full), tempDirectory);
+            logger.debug("Spilled {} locations to {}", full.size(), run);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill locations to " + tempDirectory, e);
+        } finally {
+            synchronized (lock) {
+                if (run != null && discarded) {
+                    deleteRuns(List.of(run));
+                } else if (run != null) {
+                    runs.add(run);
+                }
+                full.clear();
+                spare = full;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Replaces the oldest runs by a single merged run.
+     */
+    private void mergeRuns() throws IOException {
+        List<Path> group = new ArrayList<>(runs.subList(0, MAX_MERGE_WIDTH));
+        List<LocationRuns.Cursor> cursors = new ArrayList<>();
+        Path merged;
+        try (LocationRuns.MergingCursor cursor = new LocationRuns.MergingCursor(cursors)) {
+            for (Path run : group) {
+                cursors.add(new LocationRuns.FileCursor(run));
+            }
+            merged = LocationRuns.write(cursor, tempDirectory);
+        }
+        runs.subList(0, MAX_MERGE_WIDTH).clear();
+        runs.add(merged);
+        deleteRuns(group);
+    }
+
+    static void deleteRuns(List<Path> runs) {
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                logger.warn("Failed to delete spilled run: {}", run, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.FileProcessor;
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Processes text read sequentially from a stream, such as standard input or a named pipe, whose size is unknown and
+ * which cannot be read twice.
+ *
+ * <p>The stream is read into a buffer of a fixed number of bytes. Once the buffer is full, or a read returns less than
+ * a pipe holds because the producer is idle, the complete lines are handed off as a block and the remainder is kept
+ * for the next block. A fast stream is thus matched in large blocks, while the lines of a slow stream are matched as
+ * they arrive. A line longer than the buffer grows it until the line ends.
+ * Blocks are decoded and matched by the worker threads with offsets relative to their start, and positioned in
+ * input order once all preceding blocks have been counted.
+ *
+ * <p>At most a fixed number of blocks is buffered at a time: a block counts until it and all preceding blocks are
+ * matched, and reading waits for a free slot, so a fast producer cannot exhaust memory.
+ *
+ * <p>A read that blocks on an idle stream can be ended by {@link #stop()}, which closes the input.
+ */
+public class StreamingInputProcessor implements FileProcessor {
+
+    /**
+     * The file path that denotes standard input.
+     */
+    public static final String STANDARD_INPUT = "-";
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private static final int S_IFMT = 0170000;
+    private static final int S_IFIFO = 0010000;
+    private static final int S_IFCHR = 0020000;
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingInputProcessor.class);
+
+    private final TextMatcher matcher;
+    private final ExecutorService executorService;
+    private final int blockSize;
+    private final int maxBufferedBlocks;
+    private volatile ReadableByteChannel input;
+    private volatile boolean stopped;
+
+    /**
+     * @param blockSize         the number of bytes read at once
+     * @param maxBufferedBlocks the maximum number of blocks read but not yet matched
+     */
+    public StreamingInputProcessor(TextMatcher matcher, ExecutorService executorService, int blockSize,
+                                   int maxBufferedBlocks) {
+        if (matcher == null) {
+            throw new IllegalArgumentException("Matcher must not be null.");
+        }
+        if (executorService == null || executorService.isShutdown()) {
+            throw new IllegalArgumentException("ExecutorService must not be null or in shut down state.");
+        }
+        if (blockSize <= 0 || maxBufferedBlocks <= 0) {
+            throw new IllegalArgumentException("Block size and number of buffered blocks must be positive.");
+        }
+
+        this.matcher = matcher;
+        this.executorService = executorService;
+        this.blockSize = blockSize;
+        this.maxBufferedBlocks = maxBufferedBlocks;
+    }
+
+    /**
+     * Whether the path denotes standard input, a named pipe or a character device, which can only be read sequentially.
+     */
+    public static boolean isStream(String filePath) {
+        if (STANDARD_INPUT.equals(filePath)) {
+            return true;
+        }
+        Path path = Paths.get(filePath);
+        try {
+            if (!Files.readAttributes(path, BasicFileAttributes.class).isOther()) {
+                return false;
+            }
+            int fileType = (Integer) Files.getAttribute(path, "unix:mode") & S_IFMT;
+            return fileType == S_IFIFO || fileType == S_IFCHR;
+        } catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Processes standard input if the path is {@value #STANDARD_INPUT}, otherwise the file at the given path.
+     */
+    @Override
+    public void processTextFile(String filePath, ResultAggregator<?> resultAggregator) {
+        if (resultAggregator == null) {
+            throw new IllegalArgumentException("ResultAggregator must not be null.");
+        }
+        if (STANDARD_INPUT.equals(filePath)) {
+            logger.info("Processing standard input");
+            processStream(new FileInputStream(FileDescriptor.in).getChannel(), resultAggregator);
+            return;
+        }
+
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("The specified file does not exist: " + filePath);
+        }
+        logger.info("Processing stream: {}", filePath);
+        try (ReadableByteChannel channel = Files.newByteChannel(path)) {
+            processStream(channel, resultAggregator);
+        } catch (IOException e) {
+            throw new UncheckedIOException("File processing failed: " + filePath, e);
+        }
+    }
+
+    /**
+     * Closes the input that is being read and stops reading, so that processing ends with a
+     * {@link CancellationException} even if a read is blocked on an idle stream.
+     */
+    public void stop() {
+        stopped = true;
+        ReadableByteChannel channel = input;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close the input", e);
+            }
+        }
+    }
+
+    /**
+     * Reads the given channel to its end and aggregates the results of all blocks. The channel is not closed,
+     * unless processing is stopped.
+     *
+     * @throws CancellationException if processing is stopped
+     */
+    public void processStream(ReadableByteChannel input, ResultAggregator<?> resultAggregator) {
+        if (input == null || resultAggregator == null) {
+            throw new IllegalArgumentException("Input and ResultAggregator must not be null.");
+        }
+
+        this.input = input;
+        BlockReader reader = new BlockReader(input, blockSize);
+        Semaphore bufferedBlocks = new Semaphore(maxBufferedBlocks);
+        CompletableFuture<Location> blockStart = CompletableFuture.completedFuture(new Location(0, 0));
+        long endOffset = 0;
+        int blockCount = 0;
+        try {
+            while (true) {
+                bufferedBlocks.acquire();
+                if (stopped) {
+                    throw new CancellationException("Reading the input was stopped.");
+                }
+                ByteBuffer block = reader.next();
+                if (block == null) {
+                    bufferedBlocks.release();
+                    break;
+                }
+                endOffset += block.remaining();
+                blockCount++;
+
+                CompletableFuture<Block> scanned = CompletableFuture.supplyAsync(() -> scan(block), executorService);
+                CompletableFuture<Map<String, List<Location>>> relocated =
+                        scanned.thenCombine(blockStart, (result, base) -> PartialResults.relocate(result.matches, base));
+                relocated.whenComplete((result, e) -> bufferedBlocks.release());
+                blockStart = scanned.thenCombine(blockStart,
+                        (result, base) -> PartialResults.advance(base, result.lineCount, result.charCount));
+                resultAggregator.aggregateResults(relocated, endOffset);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reading the input was interrupted.", e);
+        } catch (AsynchronousCloseException e) {
+            if (stopped) {
+                throw new CancellationException("Reading the input was stopped.");
+            }
+            throw new UncheckedIOException("Failed to read the input.", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the input.", e);
+        }
+        logger.info("Read {} bytes in {} blocks", endOffset, blockCount);
+    }
+
+    private Block scan(ByteBuffer block) {
+        List<String> lines;
+        try {
+            lines = ByteLineReader.readLines(block);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode block.", e);
+        }
+        long charCount = 0;
+        for (String line : lines) {
+            charCount += line.length() + System.lineSeparator().length();
+        }
+        Map<String, List<Location>> matches = lines.isEmpty() ? Map.of() : matcher.findMatches(lines, 0, 0);
+        return new Block(matches, lines.size(), charCount);
+    }
+
+    /**
+     * Reads blocks that end after a line terminator, except for the last block of the input.
+     */
+    static final class BlockReader {
+
+        /**
+         * The default capacity of a pipe on Linux; a read that returns less shows that the producer is idle.
+         */
+        static final int PIPE_CAPACITY = 1 << 16;
+
+        private final ReadableByteChannel input;
+        private final int blockSize;
+        private ByteBuffer buffer;
+        private boolean endOfInput;
+
+        BlockReader(ReadableByteChannel input, int blockSize) {
+            this.input = input;
+            this.blockSize = blockSize;
+            this.buffer = ByteBuffer.allocate(blockSize);
+        }
+
+        /**
+         * Returns the complete lines read so far as the next block, ready to be read, or <code>null</code> at the end
+         * of the input. Reads until the buffer is full or a short read has completed a line.
+         */
+        ByteBuffer next() throws IOException {
+            int searchFrom = 0;
+            while (!endOfInput) {
+                if (!buffer.hasRemaining()) {
+                    ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+                    buffer = grown.put(buffer.flip());
+                }
+                int requested = Math.min(buffer.remaining(), PIPE_CAPACITY);
+                int read = input.read(buffer);
+                if (read < 0) {
+                    endOfInput = true;
+                    break;
+                }
+                if (read < requested || !buffer.hasRemaining()) {
+                    int end = lineEnd(buffer, searchFrom);
+                    if (end >= 0) {
+                        return cut(end);
+                    }
+                    searchFrom = Math.max(0, buffer.position() - 1);
+                }
+            }
+            return buffer.position() > 0 ? cut(buffer.position()) : null;
+        }
+
+        /**
+         * Copies the first <code>end</code> bytes into a block and keeps the rest for the next block.
+         */
+        private ByteBuffer cut(int end) {
+            buffer.flip();
+            ByteBuffer block = ByteBuffer.allocate(end).put(buffer.duplicate().limit(end)).flip();
+            buffer.position(end);
+            if (buffer.capacity() > blockSize && buffer.remaining() < blockSize) {
+                buffer = ByteBuffer.allocate(blockSize).put(buffer);
+            } else {
+                buffer.compact();
+            }
+            return block;
+        }
+
+        /**
+         * Returns the position after the last line terminator in the filled part of the buffer,
+         * or -1 if there is none at or after <code>from</code>. A <code>\r</code> at the end of the filled part
+         * only ends a line once the next byte shows that it is not followed by <code>\n</code>.
+         */
+        private static int lineEnd(ByteBuffer buffer, int from) {
+            for (int i = buffer.position() - 1; i >= from; i--) {
+                byte b = buffer.get(i);
+                if (b == '\n' || (b == '\r' && i + 1 < buffer.position())) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class Block {
+
+        private final Map<String, List<Location>> matches;
+        private final int lineCount;
+        private final long charCount;
+
+        private Block(Map<String, List<Location>> matches, int lineCount, long charCount) {
+            this.matches = matches;
+            this.lineCount = lineCount;
+            this.charCount = charCount;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.ResultWriter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+
+/**
+ * Writes the location of every match as soon as its chunk and all preceding chunks are complete,
+ * so results appear while the input is still being read and are never held in memory as a whole.
+ *
+ * <p>Chunks must be passed in input order. Within a chunk, locations are written by character offset, and matches at
+ * the same offset by term. Writes are chained one after the other, so the writer is used by one thread at a time, and
+ * it is flushed after every chunk with matches. The final result is the number of locations written.
+ *
+ * <p>Only {@link CompletableFuture} results can be streamed.
+ */
+public class StreamingResultAggregator implements ResultAggregator<Long> {
+
+    private static final Comparator<Map.Entry<String, Location>> BY_OFFSET = Comparator
+            .comparing(Map.Entry<String, Location>::getValue, IncrementalResultAggregator.BY_OFFSET)
+            .thenComparing(Map.Entry::getKey);
+
+    private final ResultWriter writer;
+    private CompletableFuture<Void> written = CompletableFuture.completedFuture(null);
+    private long locationCount;
+    private boolean resultComputed = false;
+
+    public StreamingResultAggregator(ResultWriter writer) {
+        if (writer == null) {
+            throw new IllegalArgumentException("Writer must not be null.");
+        }
+        this.writer = writer;
+    }
+
+    @Override
+    public synchronized void aggregateResults(Future<Map<String, List<Location>>> partialResults) {
+        if (resultComputed) {
+            throw new IllegalStateException("Attempted to add results after final computation.");
+        }
+        if (!(partialResults instanceof CompletableFuture)) {
+            throw new IllegalArgumentException("Only CompletableFuture results can be streamed.");
+        }
+
+        written = written.thenCombine((CompletableFuture<Map<String, List<Location>>>) partialResults,
+                (ignored, partialResult) -> {
+                    write(partialResult);
+                    return null;
+                });
+    }
+
+    /**
+     * Waits until the locations of all chunks are written and returns their number.
+     */
+    @Override
+    public synchronized Long computeFinalResult() {
+        try {
+            written.join();
+        } catch (CompletionException | CancellationException e) {
+            throw new IllegalStateException("Error while processing a chunk.", e);
+        }
+        resultComputed = true;
+        return locationCount;
+    }
+
+    private void write(Map<String, List<Location>> partialResult) {
+        List<Map.Entry<String, Location>> matches = new ArrayList<>();
+        for (Map.Entry<String, List<Location>> entry : partialResult.entrySet()) {
+            for (Location location : entry.getValue()) {
+                matches.add(Map.entry(entry.getKey(), location));
+            }
+        }
+        if (matches.isEmpty()) {
+            return;
+        }
+
+        matches.sort(BY_OFFSET);
+        for (Map.Entry<String, Location> match : matches) {
+            writer.writeLocation(match.getKey(), match.getValue());
+        }
+        writer.flush();
+        locationCount += matches.size();
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts matches per term exactly, without keeping their locations.
+ *
+ * <p>Each term is assigned a numeric id on first sight. Every thread accumulates counts in its own primitive
+ * <code>long[]</code> indexed by term id, so merging a partial result needs no locking and no boxing.
+ * The per-thread counters are summed once all chunks are processed.
+ */
+public class TermCountResultAggregator extends AbstractMergingResultAggregator<List<TermFrequency>> {
+
+    private final int limit;
+    private final Map<String, Integer> termIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTermId = new AtomicInteger();
+    private final Map<Thread, Counters> countersByThread = new ConcurrentHashMap<>();
+
+    /**
+     * @param limit the maximum number of most frequent terms to return
+     */
+    public TermCountResultAggregator(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        this.limit = limit;
+    }
+
+    @Override
+    protected void merge(Map<String, List<Location>> partialResult) {
+        Counters counters = countersByThread.computeIfAbsent(Thread.currentThread(), t -> new Counters());
+        for (Map.Entry<String, List<Location>> entry : partialResult.entrySet()) {
+            int termId = termIds.computeIfAbsent(entry.getKey(), k -> nextTermId.getAndIncrement());
+            counters.add(termId, entry.getValue().size());
+        }
+    }
+
+    @Override
+    protected List<TermFrequency> buildResult() {
+        long[] totals = new long[nextTermId.get()];
+        for (Counters counters : countersByThread.values()) {
+            for (int termId = 0; termId < counters.counts.length && termId < totals.length; termId++) {
+                totals[termId] += counters.counts[termId];
+            }
+        }
+        countersByThread.clear();
+
+        TopTermsCollector collector = new TopTermsCollector(limit);
+        for (Map.Entry<String, Integer> entry : termIds.entrySet()) {
+            long count = totals[entry.getValue()];
+            collector.offer(entry.getKey(), count, count, count);
+        }
+        return collector.toList();
+    }
+
+    /**
+     * Counters owned by a single thread.
+     */
+    private static final class Counters {
+
+        private long[] counts = new long[64];
+
+        void add(int termId, long count) {
+            if (termId >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(termId + 1, counts.length * 2));
+            }
+            counts[termId] += count;
+        }
+    }
+}
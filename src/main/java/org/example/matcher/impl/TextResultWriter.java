@@ -0,0 +1,116 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes results as human-readable text, one line per term:
+ * <pre>
+ * Timothy         ---> [[lineOffset=13387, charOffset=1018975], [lineOffset=13751, charOffset=1041587]]
+ * Jason           ---> 1214 [1190, 1214]
+ * </pre>
+ * Partial results end with a line stating how much of the file was scanned.
+ */
+public class TextResultWriter extends ChannelResultWriter {
+
+    private static final int TERM_WIDTH = 15;
+
+    private String currentTerm;
+    private boolean empty = true;
+    private long scannedBytes = -1;
+    private long fileSize;
+
+    public TextResultWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public TextResultWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+        putAscii("--------------------------------\n");
+    }
+
+    @Override
+    public void writeLocation(String term, Location location) {
+        if (term.equals(currentTerm)) {
+            putAscii(", ");
+        } else {
+            endGroup();
+            putTerm(term);
+            put((byte) '[');
+            currentTerm = term;
+        }
+        putAscii("[lineOffset=");
+        putLong(location.getLineOffset());
+        putAscii(", charOffset=");
+        putLong(location.getCharOffset());
+        if (location.getDictionaryVersion() != 0) {
+            putAscii(", dictionaryVersion=");
+            putLong(location.getDictionaryVersion());
+        }
+        ByteBuffer context = location.getContext();
+        if (context != null) {
+            putAscii(", context=\"");
+            putEscapedUtf8(context);
+            put((byte) '"');
+        }
+        put((byte) ']');
+    }
+
+    @Override
+    public void writeFrequency(TermFrequency frequency) {
+        endGroup();
+        putTerm(frequency.getTerm());
+        putLong(frequency.getCount());
+        if (!frequency.isExact()) {
+            putAscii(" [");
+            putLong(frequency.getLowerBound());
+            putAscii(", ");
+            putLong(frequency.getUpperBound());
+            put((byte) ']');
+        }
+        put((byte) '\n');
+    }
+
+    @Override
+    public void writePartialScan(long scannedBytes, long fileSize) {
+        this.scannedBytes = scannedBytes;
+        this.fileSize = fileSize;
+    }
+
+    @Override
+    public void close() {
+        endGroup();
+        if (empty) {
+            putAscii("No matches.\n");
+        }
+        if (scannedBytes >= 0) {
+            putAscii("Partial result: scanned the first ");
+            putLong(scannedBytes);
+            if (fileSize >= 0) {
+                putAscii(" of ");
+                putLong(fileSize);
+            }
+            putAscii(" bytes.\n");
+        }
+        super.close();
+    }
+
+    private void putTerm(String term) {
+        empty = false;
+        putUtf8(term);
+        for (int i = term.length(); i < TERM_WIDTH; i++) {
+            put((byte) ' ');
+        }
+        putAscii(" ---> ");
+    }
+
+    private void endGroup() {
+        if (currentTerm != null) {
+            putAscii("]\n");
+            currentTerm = null;
+        }
+    }
+}
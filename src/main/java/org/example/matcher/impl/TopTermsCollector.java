@@ -0,0 +1,47 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.TermFrequency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the most frequent terms seen so far using a bounded min-heap.
+ * Terms with equal counts are ordered alphabetically.
+ */
+final class TopTermsCollector {
+
+    static final Comparator<TermFrequency> MOST_FREQUENT_FIRST = Comparator
+            .comparingLong(TermFrequency::getCount).reversed()
+            .thenComparing(TermFrequency::getTerm);
+
+    private final int limit;
+    private final PriorityQueue<TermFrequency> heap;
+
+    TopTermsCollector(int limit) {
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(MOST_FREQUENT_FIRST.reversed());
+    }
+
+    void offer(String term, long count, long lowerBound, long upperBound) {
+        if (count <= 0) {
+            return;
+        }
+        if (heap.size() == limit) {
+            TermFrequency least = heap.peek();
+            if (count < least.getCount() || (count == least.getCount() && term.compareTo(least.getTerm()) > 0)) {
+                return;
+            }
+            heap.poll();
+        }
+        heap.add(new TermFrequency(term, count, lowerBound, upperBound));
+    }
+
+    List<TermFrequency> toList() {
+        List<TermFrequency> result = new ArrayList<>(heap);
+        result.sort(MOST_FREQUENT_FIRST);
+        return result;
+    }
+}
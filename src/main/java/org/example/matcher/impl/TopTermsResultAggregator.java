@@ -0,0 +1,62 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the most frequent terms in fixed memory, regardless of the dictionary size.
+ *
+ * <p>Every thread feeds match counts into its own {@link SpaceSavingSketch}, so merging a partial result needs
+ * no locking. The sketches are merged once all chunks are processed. Each returned {@link TermFrequency}
+ * carries an upper bound equal to its count and a lower bound that accounts for the sketch error.
+ */
+public class TopTermsResultAggregator extends AbstractMergingResultAggregator<List<TermFrequency>> {
+
+    /**
+     * Number of counters kept per requested term. More counters yield tighter error bounds.
+     */
+    public static final int DEFAULT_CAPACITY_FACTOR = 10;
+
+    private final int limit;
+    private final int capacity;
+    private final Map<Thread, SpaceSavingSketch> sketchesByThread = new ConcurrentHashMap<>();
+
+    public TopTermsResultAggregator(int limit) {
+        this(limit, limit * DEFAULT_CAPACITY_FACTOR);
+    }
+
+    /**
+     * @param limit    the maximum number of most frequent terms to return
+     * @param capacity the number of counters each thread keeps, must not be less than the limit
+     */
+    public TopTermsResultAggregator(int limit, int capacity) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        if (capacity < limit) {
+            throw new IllegalArgumentException("Capacity must not be less than the limit.");
+        }
+        this.limit = limit;
+        this.capacity = capacity;
+    }
+
+    @Override
+    protected void merge(Map<String, List<Location>> partialResult) {
+        SpaceSavingSketch sketch = sketchesByThread.computeIfAbsent(Thread.currentThread(),
+                t -> new SpaceSavingSketch(capacity));
+        for (Map.Entry<String, List<Location>> entry : partialResult.entrySet()) {
+            sketch.offer(entry.getKey(), entry.getValue().size());
+        }
+    }
+
+    @Override
+    protected List<TermFrequency> buildResult() {
+        List<TermFrequency> result = SpaceSavingSketch.mergeTop(sketchesByThread.values(), limit);
+        sketchesByThread.clear();
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class AsynchronousFileProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    TextMatcher matcher = new AhoCorasickTextMatcher(Set.of("needle", "hay"), false);
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    Path createFile(String content) throws IOException {
+        Path file = tempDir.resolve("haystack.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    Map<String, List<Location>> processConcurrently(Path file) {
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new ConcurrentFileProcessor(matcher, executorService, 3).processTextFile(file.toString(), aggregator);
+        return aggregator.computeFinalResult();
+    }
+
+    Map<String, List<Location>> processAsynchronously(Path file, int blockSize) {
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new AsynchronousFileProcessor(matcher, executorService, blockSize, 3).processTextFile(file.toString(), aggregator);
+        return aggregator.computeFinalResult();
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AsynchronousFileProcessor(null, executorService, 16, 2));
+        assertThrows(IllegalArgumentException.class, () -> new AsynchronousFileProcessor(matcher, null, 16, 2));
+        assertThrows(IllegalArgumentException.class, () -> new AsynchronousFileProcessor(matcher, executorService, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new AsynchronousFileProcessor(matcher, executorService, 16, 0));
+    }
+
+    @Test
+    @DisplayName("processTextFile should throw IllegalArgumentException for non-existing file or null aggregator")
+    void processTextFile_shouldThrowForInvalidArguments() throws IOException {
+        AsynchronousFileProcessor processor = new AsynchronousFileProcessor(matcher, executorService, 16, 2);
+        ResultAggregator<?> aggregator = mock(ResultAggregator.class);
+
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile("nonexistent.txt", aggregator));
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile(createFile("hay").toString(), null));
+    }
+
+    @Test
+    @DisplayName("processTextFile should produce the same results as ConcurrentFileProcessor for any block size")
+    void processTextFile_shouldMatchConcurrentFileProcessor() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append(i % 7 == 0 ? "hay with a needle ünïcödé " : "plain hay ").append(i);
+            content.append(i % 5 == 0 ? "\r\n" : i % 11 == 0 ? "\r" : "\n");
+            if (i % 37 == 0) {
+                content.append("a very long line with a needle ".repeat(5)).append('\n');
+            }
+        }
+        content.append("last needle without terminator");
+        Path file = createFile(content.toString());
+        Map<String, List<Location>> expected = processConcurrently(file);
+
+        for (int blockSize : new int[]{1, 2, 7, 64, 1000, 1 << 20}) {
+            assertEquals(expected, processAsynchronously(file, blockSize), "block size " + blockSize);
+        }
+    }
+
+    @Test
+    @DisplayName("processTextFile should handle empty files and files without line terminators")
+    void processTextFile_shouldHandleEdgeCases() throws IOException {
+        assertEquals(Map.of(), processAsynchronously(createFile(""), 8));
+        assertEquals(Map.of("needle", List.of(new Location(0, 4)), "hay", List.of(new Location(0, 0))),
+                processAsynchronously(createFile("hay needle"), 3));
+    }
+}
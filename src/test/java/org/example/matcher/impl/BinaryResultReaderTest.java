@@ -0,0 +1,135 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryResultReaderTest {
+
+    @Test
+    @DisplayName("next should read back the records written by BinaryResultWriter")
+    void next_shouldReadWrittenRecords() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryResultWriter writer = new BinaryResultWriter(Channels.newChannel(output))) {
+            writer.writeLocation("ab", new Location(1, 300));
+            writer.writeLocation("é", new Location(2, 5));
+            writer.writeLocation("ab", new Location(7, 1L << 40));
+            writer.writeFrequency(new TermFrequency("é", 3, 2, 4));
+            writer.writeScannedRange(10, 12345);
+            writer.writePartialScan(100, 1L << 33);
+        }
+
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(BinaryResultReader.RecordType.LOCATION, reader.next());
+            assertEquals("ab", reader.getTerm());
+            assertEquals(new Location(1, 300), reader.getLocation());
+            assertEquals(BinaryResultReader.RecordType.LOCATION, reader.next());
+            assertEquals("é", reader.getTerm());
+            assertEquals(new Location(2, 5), reader.getLocation());
+            assertEquals(BinaryResultReader.RecordType.LOCATION, reader.next());
+            assertEquals("ab", reader.getTerm());
+            assertEquals(new Location(7, 1L << 40), reader.getLocation());
+            assertEquals(BinaryResultReader.RecordType.FREQUENCY, reader.next());
+            assertEquals(new TermFrequency("é", 3, 2, 4).toString(), reader.getFrequency().toString());
+            assertEquals(BinaryResultReader.RecordType.SCANNED_RANGE, reader.next());
+            assertEquals(10, reader.getScannedLines());
+            assertEquals(12345, reader.getScannedChars());
+            assertEquals(BinaryResultReader.RecordType.PARTIAL_SCAN, reader.next());
+            assertEquals(100, reader.getScannedBytes());
+            assertEquals(1L << 33, reader.getFileSize());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("next should read back a partial scan of a stream of unknown size")
+    void next_shouldReadPartialScanOfUnknownSize() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryResultWriter writer = new BinaryResultWriter(Channels.newChannel(output))) {
+            writer.writePartialScan(100, ScanMonitor.UNKNOWN_SIZE);
+        }
+
+        assertEquals(4 + 3, output.size());
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(BinaryResultReader.RecordType.PARTIAL_SCAN, reader.next());
+            assertEquals(100, reader.getScannedBytes());
+            assertEquals(ScanMonitor.UNKNOWN_SIZE, reader.getFileSize());
+        }
+    }
+
+    @Test
+    @DisplayName("constructor should throw UncheckedIOException for input in another format")
+    void constructor_shouldThrowForUnknownFormat() {
+        assertThrows(UncheckedIOException.class,
+                () -> new BinaryResultReader(new ByteArrayInputStream(new byte[]{'T', 'X', 'T', 1})));
+    }
+
+    @Test
+    @DisplayName("constructor should accept older format versions and reject newer ones")
+    void constructor_shouldCheckFormatVersion() {
+        BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(new byte[]{'T', 'M', 'R', 1, 1, 0, 1, 'a'}));
+        assertNull(reader.next());
+        assertThrows(UncheckedIOException.class, () -> new BinaryResultReader(
+                new ByteArrayInputStream(new byte[]{'T', 'M', 'R', BinaryResultWriter.VERSION + 1})));
+    }
+
+    @Test
+    @DisplayName("next should throw UncheckedIOException for truncated records")
+    void next_shouldThrowForTruncatedRecord() {
+        BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(new byte[]{'T', 'M', 'R', 1, 4, (byte) 0x80}));
+
+        assertThrows(UncheckedIOException.class, reader::next);
+    }
+
+    @Test
+    @DisplayName("next should restore the dictionary version of locations")
+    void next_shouldReadDictionaryVersion() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryResultWriter writer = new BinaryResultWriter(Channels.newChannel(output))) {
+            writer.writeLocation("ab", new Location(1, 2));
+            writer.writeLocation("ab", new Location(3, 4, 2));
+            writer.writeLocation("cd", new Location(5, 6, 2));
+        }
+
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(output.toByteArray()))) {
+            reader.next();
+            assertEquals(new Location(1, 2), reader.getLocation());
+            reader.next();
+            assertEquals(new Location(3, 4, 2), reader.getLocation());
+            reader.next();
+            assertEquals(new Location(5, 6, 2), reader.getLocation());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("next should restore the context of locations")
+    void next_shouldReadContext() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryResultWriter writer = new BinaryResultWriter(Channels.newChannel(output))) {
+            writer.writeLocation("ab", new Location(1, 2, 0, ByteBuffer.wrap("x ab ë".getBytes(StandardCharsets.UTF_8))));
+            writer.writeLocation("ab", new Location(3, 4));
+        }
+
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(output.toByteArray()))) {
+            reader.next();
+            assertEquals(new Location(1, 2), reader.getLocation());
+            assertEquals("x ab ë", StandardCharsets.UTF_8.decode(reader.getLocation().getContext()).toString());
+            reader.next();
+            assertNull(reader.getLocation().getContext());
+            assertNull(reader.next());
+        }
+    }
+}
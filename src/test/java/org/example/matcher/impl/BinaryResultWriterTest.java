@@ -0,0 +1,35 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class BinaryResultWriterTest {
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("writer should define each term once and encode numbers as varints")
+    void writer_shouldWriteCompactRecords() {
+        try (BinaryResultWriter writer = new BinaryResultWriter(Channels.newChannel(output))) {
+            writer.writeLocation("ab", new Location(1, 300));
+            writer.writeLocation("ab", new Location(2, 5));
+            writer.writeFrequency(new TermFrequency("é", 1));
+        }
+
+        assertArrayEquals(new byte[]{
+                'T', 'M', 'R', 5,
+                1, 0, 2, 'a', 'b',
+                2, 0, 1, (byte) 0xAC, 0x02,
+                2, 0, 2, 5,
+                1, 1, 2, (byte) 0xC3, (byte) 0xA9,
+                3, 1, 1, 1, 1
+        }, output.toByteArray());
+    }
+}
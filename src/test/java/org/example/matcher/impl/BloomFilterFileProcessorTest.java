@@ -0,0 +1,135 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class BloomFilterFileProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    Path createFile() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            lines.add(i == 150 || i == 1777 ? "a Needle in ünïcödé hay " + i : "plain hay line number " + i);
+        }
+        Path file = tempDir.resolve("haystack.txt");
+        Files.write(file, lines);
+        return file;
+    }
+
+    Map<String, List<Location>> process(TextMatcher matcher, Set<String> terms, Path file) {
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new BloomFilterFileProcessor(matcher, executorService, terms, 1024).processTextFile(file.toString(), aggregator);
+        return aggregator.computeFinalResult();
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() {
+        TextMatcher matcher = new AhoCorasickTextMatcher(Set.of("needle"), false);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new BloomFilterFileProcessor(null, executorService, Set.of("needle"), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BloomFilterFileProcessor(matcher, null, Set.of("needle"), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BloomFilterFileProcessor(matcher, executorService, Set.of(), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BloomFilterFileProcessor(matcher, executorService, Set.of("needle"), 0));
+    }
+
+    @Test
+    @DisplayName("processTextFile should throw IllegalArgumentException for non-existing file or null aggregator")
+    void processTextFile_shouldThrowForInvalidArguments() throws IOException {
+        BloomFilterFileProcessor processor = new BloomFilterFileProcessor(
+                new AhoCorasickTextMatcher(Set.of("needle"), false), executorService, Set.of("needle"), 1);
+        ResultAggregator<?> aggregator = mock(ResultAggregator.class);
+
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile("nonexistent.txt", aggregator));
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile(createFile().toString(), null));
+    }
+
+    @Test
+    @DisplayName("processTextFile should create the index on the first run and skip chunks that cannot match with it")
+    void processTextFile_shouldCreateAndUseIndex() throws IOException {
+        Path file = createFile();
+        Set<String> terms = Set.of("Needle", "ünïcödé");
+        BasicResultAggregator expected = new BasicResultAggregator();
+        new ConcurrentFileProcessor(new AhoCorasickTextMatcher(terms, false), executorService, 100)
+                .processTextFile(file.toString(), expected);
+        CountingMatcher matcher = new CountingMatcher(new AhoCorasickTextMatcher(terms, false));
+
+        assertFalse(Files.exists(ChunkBloomIndex.sidecarPath(file)));
+        Map<String, List<Location>> firstRun = process(matcher, terms, file);
+        assertTrue(ChunkBloomIndex.load(file).isPresent());
+        int chunkCount = ChunkBloomIndex.load(file).get().getChunkCount();
+        assertEquals(chunkCount, matcher.calls.getAndSet(0));
+
+        Map<String, List<Location>> secondRun = process(matcher, terms, file);
+        assertEquals(expected.computeFinalResult(), firstRun);
+        assertEquals(firstRun, secondRun);
+        assertTrue(matcher.calls.get() <= 4, "Matched " + matcher.calls.get() + " of " + chunkCount + " chunks");
+    }
+
+    @Test
+    @DisplayName("processTextFile should find matches of case-insensitive and short terms with the index")
+    void processTextFile_shouldNotSkipCaseInsensitiveOrShortTerms() throws IOException {
+        Path file = createFile();
+        Set<String> terms = Set.of("NEEDLE", "ha");
+        TextMatcher matcher = new AhoCorasickTextMatcher(terms, true);
+        BasicResultAggregator expected = new BasicResultAggregator();
+        new ConcurrentFileProcessor(matcher, executorService, 100).processTextFile(file.toString(), expected);
+
+        process(matcher, terms, file);
+        Map<String, List<Location>> indexedRun = process(matcher, terms, file);
+
+        assertEquals(expected.computeFinalResult(), indexedRun);
+        assertEquals(2, indexedRun.get("needle").size());
+    }
+
+    private static final class CountingMatcher implements TextMatcher {
+
+        private final TextMatcher delegate;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingMatcher(TextMatcher delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Map<String, List<Location>> findMatches(List<String> lines, int initialLineOffset, long initialCharOffset) {
+            calls.incrementAndGet();
+            return delegate.findMatches(lines, initialLineOffset, initialCharOffset);
+        }
+    }
+}
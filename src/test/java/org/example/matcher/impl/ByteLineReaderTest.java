@@ -0,0 +1,82 @@
+package org.example.matcher.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ByteLineReaderTest {
+
+    static final String TEXT = "first\r\nsécond\rthird\n\nlast line without terminator";
+    static final List<String> LINES = List.of("first", "sécond", "third", "", "last line without terminator");
+
+    @Test
+    @DisplayName("readLine should split lines like BufferedReader when reading from a channel with a tiny buffer")
+    void readLine_shouldSplitLinesFromChannel() throws IOException {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        ByteLineReader reader = new ByteLineReader(Channels.newChannel(new ByteArrayInputStream(bytes)), 2);
+
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+
+        assertEquals(LINES, lines);
+        assertEquals(bytes.length, reader.position());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    @DisplayName("readLine should track the byte position of every line")
+    void readLine_shouldTrackPosition() throws IOException {
+        ByteLineReader reader = new ByteLineReader(ByteBuffer.wrap("é\r\nab\n".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("é", reader.readLine());
+        assertEquals(4, reader.position());
+        assertEquals("ab", reader.readLine());
+        assertEquals(7, reader.position());
+    }
+
+    @Test
+    @DisplayName("readLines should decode all lines of a direct buffer")
+    void readLines_shouldDecodeDirectBuffer() throws IOException {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+        assertEquals(LINES, ByteLineReader.readLines(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    @DisplayName("readLines should split a direct buffer like a heap buffer and report malformed input")
+    void readLines_shouldSplitDirectBufferLikeHeapBuffer() throws IOException {
+        for (String text : new String[]{"", "\n", "a\r", "a\r\r\nb\n\r", "\r\n\r\n x"}) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+            assertEquals(ByteLineReader.readLines(ByteBuffer.wrap(bytes)), ByteLineReader.readLines(direct), text);
+        }
+        ByteBuffer malformed = ByteBuffer.allocateDirect(3).put(new byte[]{'a', (byte) 0xC3, '\n'}).flip();
+        assertThrows(CharacterCodingException.class, () -> ByteLineReader.readLines(malformed));
+    }
+
+    @Test
+    @DisplayName("readLine should report malformed input")
+    void readLine_shouldThrowOnMalformedInput() {
+        ByteLineReader reader = new ByteLineReader(ByteBuffer.wrap(new byte[]{'a', (byte) 0xC3, '\n'}));
+
+        assertThrows(CharacterCodingException.class, reader::readLine);
+    }
+}
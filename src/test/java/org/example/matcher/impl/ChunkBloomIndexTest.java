@@ -0,0 +1,119 @@
+package org.example.matcher.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkBloomIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    ChunkBloomIndex createIndex(List<String> firstChunk, List<String> secondChunk) {
+        ChunkBloomIndex.Builder builder = new ChunkBloomIndex.Builder();
+        builder.addChunk(0, 0, 0, ChunkBloomIndex.filter(firstChunk, ChunkBloomIndex.DEFAULT_FILTER_BITS));
+        builder.addChunk(100, 5, 90, ChunkBloomIndex.filter(secondChunk, ChunkBloomIndex.DEFAULT_FILTER_BITS));
+        return builder.build(200, 0);
+    }
+
+    @Test
+    @DisplayName("filter should throw IllegalArgumentException for a size that is not a power of two of at least 64")
+    void filter_shouldThrowForInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> ChunkBloomIndex.filter(List.of("text"), 32));
+        assertThrows(IllegalArgumentException.class, () -> ChunkBloomIndex.filter(List.of("text"), 100));
+    }
+
+    @Test
+    @DisplayName("mightContain should find every trigram of the chunk in any case and reject absent trigrams")
+    void mightContain_shouldFindTrigramsOfChunk() {
+        ChunkBloomIndex index = createIndex(List.of("The quick brown fox", "jumps"), List.of("over the lazy dog"));
+
+        assertTrue(index.mightContain(0, ChunkBloomIndex.trigrams("QUICK")));
+        assertTrue(index.mightContain(0, ChunkBloomIndex.trigrams("fox")));
+        assertFalse(index.mightContain(0, ChunkBloomIndex.trigrams("lazy")));
+        assertFalse(index.mightContain(0, ChunkBloomIndex.trigrams("foxjumps")));
+        assertTrue(index.mightContain(1, ChunkBloomIndex.trigrams("Lazy Dog")));
+        assertFalse(index.mightContain(1, ChunkBloomIndex.trigrams("brown")));
+    }
+
+    @Test
+    @DisplayName("trigrams should return no trigrams for short terms, which may match every chunk")
+    void trigrams_shouldReturnNoneForShortTerms() {
+        ChunkBloomIndex index = createIndex(List.of("abc"), List.of("def"));
+
+        assertEquals(0, ChunkBloomIndex.trigrams("ab").length);
+        assertTrue(index.mightContain(0, ChunkBloomIndex.trigrams("xy")));
+        assertEquals(2, ChunkBloomIndex.trigrams("aaaaaa").length + ChunkBloomIndex.trigrams("abc").length);
+    }
+
+    @Test
+    @DisplayName("filter should fold sparse filters and keep dense filters large")
+    void filter_shouldFoldSparseFilters() {
+        List<String> dense = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            dense.add(Integer.toString(i * 7919, 36) + " " + Integer.toString(i, 36));
+        }
+        ChunkBloomIndex index = createIndex(List.of("short"), dense);
+
+        assertEquals(64, index.getFilterBits(0));
+        assertTrue(index.getFilterBits(1) >= 1 << 16);
+        assertTrue(index.mightContain(1, ChunkBloomIndex.trigrams(dense.get(12345))));
+    }
+
+    @Test
+    @DisplayName("fold should answer the same queries as the unfolded filter")
+    void fold_shouldPreserveMembership() {
+        long[] filter = new long[4];
+        filter[3] = 1L << 5;
+
+        assertArrayEquals(new long[]{1L << 5}, ChunkBloomIndex.fold(filter));
+    }
+
+    @Test
+    @DisplayName("load should return a saved index and ignore it once the file changes")
+    void load_shouldReturnSavedIndexUntilFileChanges() throws IOException {
+        Path file = tempDir.resolve("text.txt");
+        Files.writeString(file, "The quick brown fox\njumps over the lazy dog\n");
+        ChunkBloomIndex.Builder builder = new ChunkBloomIndex.Builder();
+        builder.addChunk(0, 0, 0, ChunkBloomIndex.filter(List.of("The quick brown fox"), 1024));
+        builder.addChunk(20, 1, 21, ChunkBloomIndex.filter(List.of("jumps over the lazy dog"), 1024));
+        builder.build(Files.size(file), Files.getLastModifiedTime(file).toMillis()).save(file);
+
+        Optional<ChunkBloomIndex> index = ChunkBloomIndex.load(file);
+        assertTrue(index.isPresent());
+        assertEquals(2, index.get().getChunkCount());
+        assertEquals(20, index.get().getByteOffset(1));
+        assertEquals(1, index.get().getLineOffset(1));
+        assertEquals(21, index.get().getCharOffset(1));
+        assertTrue(index.get().mightContain(1, ChunkBloomIndex.trigrams("lazy")));
+        assertFalse(index.get().mightContain(0, ChunkBloomIndex.trigrams("lazy")));
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5000));
+        assertFalse(ChunkBloomIndex.load(file).isPresent());
+    }
+
+    @Test
+    @DisplayName("load should ignore a missing or corrupt index")
+    void load_shouldIgnoreMissingOrCorruptIndex() throws IOException {
+        Path file = tempDir.resolve("text.txt");
+        Files.writeString(file, "text\n");
+
+        assertFalse(ChunkBloomIndex.load(file).isPresent());
+        Files.writeString(ChunkBloomIndex.sidecarPath(file), "not an index");
+        assertFalse(ChunkBloomIndex.load(file).isPresent());
+    }
+}
@@ -1,14 +1,24 @@
 package org.example.matcher.impl;
 
+import org.example.matcher.AggregationMode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class CommandLineConfigProviderTest {
 
@@ -45,6 +55,190 @@ class CommandLineConfigProviderTest {
         assertEquals(Runtime.getRuntime().availableProcessors(), config.getThreadCount());
         assertEquals(1000, config.getChunkSize());
         assertFalse(config.isCaseInsensitive());
+        assertEquals(0, config.getSampleFraction());
+        assertEquals(0, config.getDeadline());
+    }
+
+    @Test
+    @DisplayName("fromArgs should parse aggregation settings")
+    void fromArgs_shouldParseAggregationSettings() {
+        String[] args = {
+                "--file", "test.txt",
+                "--search", "term1",
+                "--aggregation", "approximate",
+                "--top", "10"
+        };
+
+        CommandLineConfigProvider config = CommandLineConfigProvider.fromArgs(args);
+
+        assertEquals(AggregationMode.APPROXIMATE_COUNTS, config.getAggregationMode());
+        assertEquals(10, config.getTopCount());
+        assertEquals(AggregationMode.LOCATIONS,
+                CommandLineConfigProvider.fromArgs(new String[]{"--file", "test.txt", "--search", "term1"}).getAggregationMode());
+    }
+
+    @Test
+    @DisplayName("fromArgs should throw exception for unknown aggregation mode")
+    void fromArgs_shouldThrowOnUnknownAggregationMode() {
+        String[] args = {
+                "--file", "test.txt",
+                "--search", "term1",
+                "--aggregation", "everything"
+        };
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CommandLineConfigProvider.fromArgs(args));
+
+        assertTrue(exception.getMessage().contains("--aggregation"));
+    }
+
+    @Test
+    @DisplayName("fromArgs should combine search terms from the command line and the search file")
+    void fromArgs_shouldReadSearchFile(@TempDir Path tempDir) throws IOException {
+        Path termFile = tempDir.resolve("terms.txt");
+        Files.write(termFile, List.of("term2", "", "term3"));
+        String[] args = {
+                "--file", "test.txt",
+                "--search", "term1",
+                "--searchFile", termFile.toString(),
+                "--reload", "5"
+        };
+
+        CommandLineConfigProvider config = CommandLineConfigProvider.fromArgs(args);
+
+        assertEquals(Set.of("term1", "term2", "term3"), config.getSearchTerms());
+        assertEquals(Set.of("term1"), config.getInlineSearchTerms());
+        assertEquals(5, config.getReloadInterval());
+    }
+
+    @Test
+    @DisplayName("fromArgs should throw exception for reload without search file")
+    void fromArgs_shouldThrowOnReloadWithoutSearchFile() {
+        String[] args = {"--file", "test.txt", "--search", "term1", "--reload", "5"};
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CommandLineConfigProvider.fromArgs(args));
+
+        assertTrue(exception.getMessage().contains("--searchFile"));
+    }
+
+    @Test
+    @DisplayName("fromArgs should parse context settings and reject combining lines and bytes")
+    void fromArgs_shouldParseContextSettings() {
+        CommandLineConfigProvider config = CommandLineConfigProvider.fromArgs(
+                new String[]{"--file", "test.txt", "--search", "term1", "--context", "2"});
+        assertEquals(2, config.getContextLines());
+        assertEquals(0, config.getContextBytes());
+        assertEquals(2, CommandLineConfigProvider.fromArgs(new String[]{
+                "--file", "test.txt", "--search", "term1", "--context", "2", "--aggregation", "stream"}).getContextLines());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CommandLineConfigProvider.fromArgs(new String[]{
+                        "--file", "test.txt", "--search", "term1", "--context", "2", "--contextBytes", "10"}));
+        assertTrue(exception.getMessage().contains("--contextBytes"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"--processes 2", "--bloom", "--async", "--index", "--chunk 10", "--file -"})
+    @DisplayName("fromArgs should reject context with options that do not read a memory-mapped file")
+    void fromArgs_shouldRejectContextWithOtherReaders(String option) {
+        List<String> args = new ArrayList<>(List.of("--file", "test.txt", "--search", "term1", "--contextBytes", "10"));
+        args.addAll(List.of(option.split(" ")));
+
+        assertThrows(IllegalArgumentException.class, () -> CommandLineConfigProvider.fromArgs(args.toArray(new String[0])));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"spill", "exact", "approximate"})
+    @DisplayName("fromArgs should reject context with aggregation modes that do not write it")
+    void fromArgs_shouldRejectContextWithoutLocations(String mode) {
+        assertThrows(IllegalArgumentException.class, () -> CommandLineConfigProvider.fromArgs(new String[]{
+                "--file", "test.txt", "--search", "term1", "--context", "1", "--aggregation", mode}));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"--processes 2 --index", "--bloom --async", "--async --index", "--bloom --index",
+            "--file - --async", "--file - --chunk 10", "--bloom --chunk 10", "--async --chunk 10",
+            "--bloom --reload 5", "--processes 2 --reload 5"})
+    @DisplayName("fromArgs should reject options that another option would silently override")
+    void fromArgs_shouldRejectConflictingReaders(String options, @TempDir Path tempDir) throws IOException {
+        Path termFile = Files.writeString(tempDir.resolve("terms.txt"), "term2\n");
+        List<String> args = new ArrayList<>(List.of("--file", "test.txt", "--search", "term1",
+                "--searchFile", termFile.toString()));
+        args.addAll(List.of(options.split(" ")));
+
+        assertThrows(IllegalArgumentException.class, () -> CommandLineConfigProvider.fromArgs(args.toArray(new String[0])));
+    }
+
+    @Test
+    @DisplayName("fromArgs should parse sampling settings")
+    void fromArgs_shouldParseSamplingSettings() {
+        CommandLineConfigProvider config = CommandLineConfigProvider.fromArgs(
+                new String[]{"--file", "test.txt", "--search", "term1", "--sample", "0.25", "--seed", "7"});
+        assertEquals(0.25, config.getSampleFraction());
+        assertEquals(0, config.getTargetError());
+        assertEquals(7, config.getSampleSeed());
+
+        config = CommandLineConfigProvider.fromArgs(
+                new String[]{"--file", "test.txt", "--search", "term1", "--targetError", "0.05"});
+        assertEquals(1, config.getSampleFraction());
+        assertEquals(0.05, config.getTargetError());
+
+        assertThrows(IllegalArgumentException.class, () -> CommandLineConfigProvider.fromArgs(
+                new String[]{"--file", "test.txt", "--search", "term1", "--sample", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineConfigProvider.fromArgs(
+                new String[]{"--file", "test.txt", "--search", "term1", "--targetError", "1"}));
+    }
+
+    @Test
+    @DisplayName("fromArgs should parse deadline and progress settings")
+    void fromArgs_shouldParseDeadlineSettings() {
+        CommandLineConfigProvider config = CommandLineConfigProvider.fromArgs(
+                new String[]{"--file", "test.txt", "--search", "term1", "--deadline", "30", "--progress", "5"});
+
+        assertEquals(30, config.getDeadline());
+        assertEquals(5, config.getProgressInterval());
+        assertThrows(IllegalArgumentException.class, () -> CommandLineConfigProvider.fromArgs(
+                new String[]{"--file", "test.txt", "--search", "term1", "--deadline", "0"}));
+    }
+
+    @Test
+    @DisplayName("fromArgs should accept standard input for streamed aggregation but not for sampling")
+    void fromArgs_shouldParseStandardInput() {
+        CommandLineConfigProvider config = CommandLineConfigProvider.fromArgs(
+                new String[]{"--file", "-", "--search", "term1", "--aggregation", "stream"});
+        assertEquals("-", config.getFilePath());
+        assertEquals(AggregationMode.STREAMED_LOCATIONS, config.getAggregationMode());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                CommandLineConfigProvider.fromArgs(new String[]{"--file", "-", "--search", "term1", "--sample", "0.5"}));
+        assertTrue(exception.getMessage().contains("standard input"));
+    }
+
+    @Test
+    @DisplayName("fromArgs should reject sampling a named pipe")
+    void fromArgs_shouldRejectSamplingPipe(@TempDir Path tempDir) throws Exception {
+        Path pipe = tempDir.resolve("pipe");
+        assumeTrue(new ProcessBuilder("mkfifo", pipe.toString()).start().waitFor() == 0);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                CommandLineConfigProvider.fromArgs(new String[]{"--file", pipe.toString(), "--search", "term1", "--sample", "0.5"}));
+        assertTrue(exception.getMessage().contains("pipe"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"--aggregation approximate", "--processes 2", "--bloom", "--async", "--index", "--chunk 10",
+            "--context 1", "--contextBytes 10", "--deadline 5", "--progress 5", "--reload 5"})
+    @DisplayName("fromArgs should reject options that sampling ignores")
+    void fromArgs_shouldRejectOptionsIgnoredBySampling(String option, @TempDir Path tempDir) throws IOException {
+        Path termFile = Files.writeString(tempDir.resolve("terms.txt"), "term2\n");
+        List<String> args = new ArrayList<>(List.of("--file", "test.txt", "--search", "term1",
+                "--searchFile", termFile.toString(), "--targetError", "0.1"));
+        args.addAll(List.of(option.split(" ")));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CommandLineConfigProvider.fromArgs(args.toArray(new String[0])));
+        assertTrue(exception.getMessage().contains("--sample"));
     }
 
     @Test
@@ -1,6 +1,7 @@
 package org.example.matcher.impl;
 
 import org.example.matcher.FileProcessor;
+import org.example.matcher.Location;
 import org.example.matcher.ResultAggregator;
 import org.example.matcher.TextMatcher;
 import org.junit.jupiter.api.DisplayName;
@@ -11,12 +12,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -24,7 +27,7 @@ import static org.mockito.Mockito.verify;
 class ConcurrentFileProcessorTest {
 
     TextMatcher mockMatcher = Mockito.mock(TextMatcher.class);
-    ResultAggregator mockResultAggregator = mock(ResultAggregator.class);
+    ResultAggregator<Map<String, List<Location>>> mockResultAggregator = mock();
     ExecutorService executorService = Executors.newFixedThreadPool(2);
     FileProcessor fileProcessor = new ConcurrentFileProcessor(mockMatcher, executorService, 2);
 
@@ -70,13 +73,15 @@ class ConcurrentFileProcessorTest {
     }
 
     @Test
-    @DisplayName("processTextFile should submit chunks to result aggregator")
+    @DisplayName("processTextFile should submit chunks with their end offsets to result aggregator")
     void processTextFile_shouldSubmitChunksToResultAggregator() throws IOException {
         Path tempFile = Files.createTempFile("test", ".txt");
         Files.write(tempFile, List.of("line1", "line2", "line3", "line4"));
 
         fileProcessor.processTextFile(tempFile.toString(), mockResultAggregator);
 
-        verify(mockResultAggregator, times(2)).aggregateResults(any(Future.class));
+        verify(mockResultAggregator, times(2)).aggregateResults(any(), anyLong());
+        verify(mockResultAggregator).aggregateResults(any(), eq(12L));
+        verify(mockResultAggregator).aggregateResults(any(), eq(24L));
     }
 }
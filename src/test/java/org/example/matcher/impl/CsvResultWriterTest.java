@@ -0,0 +1,82 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvResultWriterTest {
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("writeLocations should write a header followed by one row per match")
+    void writeLocations_shouldWriteHeaderAndRows() {
+        try (CsvResultWriter writer = new CsvResultWriter(Channels.newChannel(output))) {
+            writer.writeLocations("Timothy", List.of(new Location(13387, 1018975L), new Location(13751, -1L)));
+        }
+
+        assertEquals("term,lineOffset,charOffset\nTimothy,13387,1018975\nTimothy,13751,-1\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writeFrequency should quote terms containing separators")
+    void writeFrequency_shouldQuoteTerms() {
+        try (CsvResultWriter writer = new CsvResultWriter(Channels.newChannel(output))) {
+            writer.writeFrequency(new TermFrequency("a,\"b\"", 2));
+            writer.writeFrequency(new TermFrequency("plain", 1));
+        }
+
+        assertEquals("term,count,lowerBound,upperBound\n\"a,\"\"b\"\"\",2,2,2\nplain,1,1,1\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writeLocation should switch to a header with the dictionary version for reloaded dictionaries")
+    void writeLocation_shouldWriteDictionaryVersion() {
+        try (CsvResultWriter writer = new CsvResultWriter(Channels.newChannel(output))) {
+            writer.writeLocation("Jason", new Location(1, 2));
+            writer.writeLocation("Jason", new Location(3, 4, 1));
+            writer.writeLocation("Jason", new Location(5, 6, 1));
+        }
+
+        assertEquals("term,lineOffset,charOffset\nJason,1,2\n" +
+                        "term,lineOffset,charOffset,dictionaryVersion\nJason,3,4,1\nJason,5,6,1\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writeLocation should add a quoted context column for matches with context")
+    void writeLocation_shouldWriteContext() {
+        ByteBuffer context = ByteBuffer.wrap("say \"Jason\",\nok".getBytes(StandardCharsets.UTF_8));
+        try (CsvResultWriter writer = new CsvResultWriter(Channels.newChannel(output))) {
+            writer.writeLocation("Jason", new Location(1, 5, 0, context));
+            writer.writeLocation("Jason", new Location(3, 4, 2, context));
+        }
+
+        assertEquals("term,lineOffset,charOffset,context\nJason,1,5,\"say \"\"Jason\"\",\nok\"\n" +
+                        "term,lineOffset,charOffset,dictionaryVersion,context\nJason,3,4,2,\"say \"\"Jason\"\",\nok\"\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writePartialScan should write a row with its own header")
+    void writePartialScan_shouldWriteRowWithHeader() {
+        try (CsvResultWriter writer = new CsvResultWriter(Channels.newChannel(output))) {
+            writer.writeLocation("Jason", new Location(1, 2));
+            writer.writePartialScan(100, 400);
+        }
+
+        assertEquals("term,lineOffset,charOffset\nJason,1,2\nscannedBytes,fileSize\n100,400\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.matcher.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DictionaryWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    ReloadableTextMatcher matcher = mock(ReloadableTextMatcher.class);
+    DictionaryWatcher watcher;
+
+    @AfterEach
+    void closeWatcher() {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    Path createTermFile(List<String> terms) throws IOException {
+        Path file = tempDir.resolve("terms.txt");
+        Files.write(file, terms);
+        return file;
+    }
+
+    @Test
+    @DisplayName("readTerms should skip blank lines and strip whitespace")
+    void readTerms_shouldSkipBlankLines() throws IOException {
+        Path file = createTermFile(List.of(" Jason ", "", "Kenneth", "   "));
+
+        assertEquals(Set.of("Jason", "Kenneth"), DictionaryWatcher.readTerms(file));
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() throws IOException {
+        Path file = createTermFile(List.of("Jason"));
+
+        assertThrows(IllegalArgumentException.class, () -> new DictionaryWatcher(null, Set.of(), matcher, 10));
+        assertThrows(IllegalArgumentException.class, () -> new DictionaryWatcher(file, Set.of(), null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new DictionaryWatcher(file, Set.of(), matcher, 0));
+    }
+
+    @Test
+    @DisplayName("watcher should reload the matcher with file and additional terms when the file changes")
+    void watcher_shouldReloadChangedFile() throws IOException {
+        when(matcher.reload(any())).thenReturn(new CompletableFuture<>());
+        Path file = createTermFile(List.of("Jason"));
+        watcher = new DictionaryWatcher(file, Set.of("inline"), matcher, 10);
+
+        Files.write(file, List.of("Jason", "Kenneth"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5000));
+
+        verify(matcher, timeout(5000)).reload(Set.of("Jason", "Kenneth", "inline"));
+        verify(matcher, after(200).times(1)).reload(any());
+    }
+
+    @Test
+    @DisplayName("checkForChanges should reload only once the file is unchanged for two polls")
+    void checkForChanges_shouldWaitForStableFile() throws IOException {
+        when(matcher.reload(any())).thenReturn(new CompletableFuture<>());
+        Path file = createTermFile(List.of("Jason"));
+        watcher = new DictionaryWatcher(file, Set.of(), matcher, 60_000);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+
+        Files.writeString(file, "Jason\nKen");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified + 5000));
+        watcher.checkForChanges();
+        Files.writeString(file, "Jason\nKenneth\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified + 6000));
+        watcher.checkForChanges();
+        verify(matcher, never()).reload(any());
+
+        watcher.checkForChanges();
+        watcher.checkForChanges();
+        verify(matcher, times(1)).reload(any());
+        verify(matcher).reload(Set.of("Jason", "Kenneth"));
+    }
+
+    @Test
+    @DisplayName("checkForChanges should not reload an unchanged file")
+    void checkForChanges_shouldIgnoreUnchangedFile() throws IOException {
+        Path file = createTermFile(List.of("Jason"));
+        watcher = new DictionaryWatcher(file, Set.of(), matcher, 60_000);
+
+        watcher.checkForChanges();
+
+        verify(matcher, never()).reload(any());
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IncrementalResultAggregatorTest {
+
+    IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+
+    @Test
+    @DisplayName("computeFinalResult should order locations by offset regardless of completion order")
+    void computeFinalResult_shouldOrderLocationsByOffset() {
+        CompletableFuture<Map<String, List<Location>>> first = new CompletableFuture<>();
+        CompletableFuture<Map<String, List<Location>>> second = new CompletableFuture<>();
+        CompletableFuture<Map<String, List<Location>>> third = new CompletableFuture<>();
+        aggregator.aggregateResults(first);
+        aggregator.aggregateResults(second);
+        aggregator.aggregateResults(third);
+
+        third.complete(Map.of("a", List.of(new Location(4, 40), new Location(5, 50))));
+        second.complete(Map.of("a", List.of(new Location(2, 20)), "b", List.of(new Location(3, 30))));
+        first.complete(Map.of("a", List.of(new Location(0, 0), new Location(1, 10))));
+
+        Map<String, List<Location>> result = aggregator.computeFinalResult();
+
+        assertEquals(List.of(new Location(0, 0), new Location(1, 10), new Location(2, 20),
+                new Location(4, 40), new Location(5, 50)), result.get("a"));
+        assertEquals(List.of(new Location(3, 30)), result.get("b"));
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should merge plain futures and sort unsorted runs")
+    void computeFinalResult_shouldMergePlainFutures() throws Exception {
+        Future<Map<String, List<Location>>> future = mock();
+        Map<String, List<Location>> partialResult = new HashMap<>();
+        partialResult.put("a", new ArrayList<>(List.of(new Location(9, 90), new Location(7, 70))));
+        when(future.get()).thenReturn(partialResult);
+
+        aggregator.aggregateResults(future);
+        aggregator.aggregateResults(CompletableFuture.completedFuture(Map.of("a", List.of(new Location(8, 80)))));
+
+        assertEquals(List.of(new Location(7, 70), new Location(8, 80), new Location(9, 90)),
+                aggregator.computeFinalResult().get("a"));
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should return an unmodifiable result and not recompute it")
+    void computeFinalResult_shouldBeUnmodifiable() {
+        aggregator.aggregateResults(CompletableFuture.completedFuture(Map.of("a", List.of(new Location(1, 2)))));
+
+        Map<String, List<Location>> result = aggregator.computeFinalResult();
+
+        assertThrows(UnsupportedOperationException.class, () -> result.put("b", List.of()));
+        assertEquals(result, aggregator.computeFinalResult());
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should throw IllegalStateException when a chunk failed")
+    void computeFinalResult_shouldThrowOnFailedChunk() throws Exception {
+        Future<Map<String, List<Location>>> future = mock();
+        when(future.get()).thenThrow(new ExecutionException(new RuntimeException("Test")));
+        aggregator.aggregateResults(future);
+        aggregator.aggregateResults(CompletableFuture.failedFuture(new RuntimeException("Test")));
+
+        assertThrows(IllegalStateException.class, aggregator::computeFinalResult);
+    }
+}
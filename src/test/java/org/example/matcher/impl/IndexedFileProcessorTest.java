@@ -0,0 +1,107 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class IndexedFileProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    TextMatcher matcher = new AhoCorasickTextMatcher(Set.of("needle", "hay"), false);
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    Path createFile() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            lines.add(i % 7 == 0 ? "hay with a needle ünïcödé " + i : "plain hay " + i);
+        }
+        Path file = tempDir.resolve("haystack.txt");
+        Files.write(file, lines);
+        return file;
+    }
+
+    Map<String, List<Location>> process(TextMatcher matcher, Path file) {
+        return process(matcher, file, 64);
+    }
+
+    Map<String, List<Location>> process(TextMatcher matcher, Path file, int chunkSize) {
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new IndexedFileProcessor(matcher, executorService, chunkSize).processTextFile(file.toString(), aggregator);
+        return aggregator.computeFinalResult();
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new IndexedFileProcessor(matcher, executorService, 0));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedFileProcessor(null, executorService, 1));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedFileProcessor(matcher, null, 1));
+    }
+
+    @Test
+    @DisplayName("processTextFile should throw IllegalArgumentException for non-existing file or null aggregator")
+    void processTextFile_shouldThrowForInvalidArguments() throws IOException {
+        IndexedFileProcessor processor = new IndexedFileProcessor(matcher, executorService, 1);
+        ResultAggregator<?> aggregator = mock(ResultAggregator.class);
+
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile("nonexistent.txt", aggregator));
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile(createFile().toString(), null));
+    }
+
+    @Test
+    @DisplayName("processTextFile should create the index on the first run and produce the same results with it")
+    void processTextFile_shouldCreateAndUseIndex() throws IOException {
+        Path file = createFile();
+        BasicResultAggregator expected = new BasicResultAggregator();
+        new ConcurrentFileProcessor(matcher, executorService, 100).processTextFile(file.toString(), expected);
+
+        assertFalse(Files.exists(LineOffsetIndex.sidecarPath(file)));
+        Map<String, List<Location>> firstRun = process(matcher, file);
+        assertTrue(LineOffsetIndex.load(file).isPresent());
+        assertEquals(16, LineOffsetIndex.load(file).get().getCheckpointCount());
+        Map<String, List<Location>> secondRun = process(matcher, file);
+
+        assertEquals(expected.computeFinalResult(), firstRun);
+        assertEquals(firstRun, secondRun);
+    }
+
+    @Test
+    @DisplayName("processTextFile should rebuild the index when the chunk size differs from its checkpoint interval")
+    void processTextFile_shouldRebuildIndexForDifferentChunkSize() throws IOException {
+        Path file = createFile();
+        Map<String, List<Location>> firstRun = process(matcher, file);
+
+        Map<String, List<Location>> secondRun = process(matcher, file, 250);
+
+        assertEquals(firstRun, secondRun);
+        assertEquals(250, LineOffsetIndex.load(file).get().getInterval());
+        assertEquals(4, LineOffsetIndex.load(file).get().getCheckpointCount());
+    }
+}
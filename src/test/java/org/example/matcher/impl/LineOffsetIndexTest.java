@@ -0,0 +1,98 @@
+package org.example.matcher.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineOffsetIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    Path createIndexedFile() throws IOException {
+        Path file = tempDir.resolve("text.txt");
+        Files.writeString(file, "zero\nöne\ntwo\nthree\nfour\n");
+        LineOffsetIndex.Builder builder = new LineOffsetIndex.Builder(2);
+        long[] byteOffsets = {0, 5, 10, 14, 20};
+        long charOffset = 0;
+        List<String> lines = Files.readAllLines(file);
+        for (int line = 0; line < lines.size(); line++) {
+            builder.addLine(line, byteOffsets[line], charOffset);
+            charOffset += lines.get(line).length() + System.lineSeparator().length();
+        }
+        builder.build(Files.size(file), Files.getLastModifiedTime(file).toMillis()).save(file);
+        return file;
+    }
+
+    @Test
+    @DisplayName("Builder should throw IllegalArgumentException for non-positive interval")
+    void builder_shouldThrowForInvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new LineOffsetIndex.Builder(0));
+    }
+
+    @Test
+    @DisplayName("load should return a saved index with every interval-th line as checkpoint")
+    void load_shouldReturnSavedIndex() throws IOException {
+        Path file = createIndexedFile();
+
+        LineOffsetIndex index = LineOffsetIndex.load(file).orElseThrow();
+
+        assertEquals(3, index.getCheckpointCount());
+        assertEquals(2, index.getLineOffset(1));
+        assertEquals(10, index.getByteOffset(1));
+        assertEquals(4, index.getLineOffset(2));
+        assertEquals(20, index.getByteOffset(2));
+        assertEquals(4 + 3 + 2 * System.lineSeparator().length(), index.getCharOffset(1));
+        assertEquals(2, index.getInterval());
+    }
+
+    @Test
+    @DisplayName("load should ignore a missing or stale index")
+    void load_shouldIgnoreStaleIndex() throws IOException {
+        Path file = createIndexedFile();
+        assertEquals(Optional.empty(), LineOffsetIndex.load(tempDir.resolve("other.txt")));
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 10_000));
+
+        assertFalse(LineOffsetIndex.load(file).isPresent());
+    }
+
+    @Test
+    @DisplayName("readLine should jump to the line through the closest checkpoint")
+    void readLine_shouldReturnLine() throws IOException {
+        Path file = createIndexedFile();
+        LineOffsetIndex index = LineOffsetIndex.load(file).orElseThrow();
+
+        assertEquals("zero", index.readLine(file, 0));
+        assertEquals("öne", index.readLine(file, 1));
+        assertEquals("three", index.readLine(file, 3));
+        assertEquals("four", index.readLine(file, 4));
+        assertNull(index.readLine(file, 5));
+        assertThrows(IllegalArgumentException.class, () -> index.readLine(file, -1));
+    }
+
+    @Test
+    @DisplayName("floorCheckpoint should return the last checkpoint at or before the line")
+    void floorCheckpoint_shouldFindClosestCheckpoint() throws IOException {
+        LineOffsetIndex index = LineOffsetIndex.load(createIndexedFile()).orElseThrow();
+
+        assertEquals(0, index.floorCheckpoint(1));
+        assertEquals(1, index.floorCheckpoint(2));
+        assertEquals(1, index.floorCheckpoint(3));
+        assertEquals(2, index.floorCheckpoint(100));
+        assertTrue(Files.exists(LineOffsetIndex.sidecarPath(tempDir.resolve("text.txt"))));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationBufferTest {
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for non-positive capacity")
+    void constructor_shouldThrowForInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new LocationBuffer(0));
+    }
+
+    @Test
+    @DisplayName("sort should order locations by term id, char offset and line offset")
+    void sort_shouldOrderLocations() {
+        Random random = new Random(7);
+        LocationBuffer buffer = new LocationBuffer(5000);
+        List<long[]> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int termId = random.nextInt(10);
+            int line = random.nextInt(100);
+            long offset = random.nextInt(50);
+            buffer.add(termId, new Location(line, offset, i));
+            expected.add(new long[]{termId, offset, line});
+        }
+        expected.sort(Comparator.<long[]>comparingLong(e -> e[0]).thenComparingLong(e -> e[1]).thenComparingLong(e -> e[2]));
+
+        assertTrue(buffer.isFull());
+        buffer.sort();
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], buffer.termId(i));
+            assertEquals(expected.get(i)[1], buffer.charOffset(i));
+            assertEquals(expected.get(i)[2], buffer.lineOffset(i));
+        }
+    }
+
+    @Test
+    @DisplayName("clear should allow the buffer to be filled again")
+    void clear_shouldResetSize() {
+        LocationBuffer buffer = new LocationBuffer(1);
+        buffer.add(0, new Location(1, 2));
+        buffer.clear();
+
+        assertFalse(buffer.isFull());
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class MappedFileProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    TextMatcher matcher = new AhoCorasickTextMatcher(Set.of("needle", "hay"), false);
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    Path createFile(String content) throws IOException {
+        Path file = tempDir.resolve("haystack.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    Map<String, List<Location>> process(Path file, int chunkSize, int contextLines, int contextBytes) {
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new MappedFileProcessor(matcher, executorService, chunkSize, contextLines, contextBytes)
+                .processTextFile(file.toString(), aggregator);
+        return aggregator.computeFinalResult();
+    }
+
+    static List<String> contexts(List<Location> locations) {
+        return locations.stream()
+                .map(location -> StandardCharsets.UTF_8.decode(location.getContext()).toString())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileProcessor(null, executorService, 16, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileProcessor(matcher, null, 16, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileProcessor(matcher, executorService, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileProcessor(matcher, executorService, 16, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileProcessor(matcher, executorService, 16, 1, 1));
+    }
+
+    @Test
+    @DisplayName("processTextFile should throw IllegalArgumentException for non-existing file or null aggregator")
+    void processTextFile_shouldThrowForInvalidArguments() throws IOException {
+        MappedFileProcessor processor = new MappedFileProcessor(matcher, executorService, 16, 0, 0);
+        ResultAggregator<?> aggregator = mock(ResultAggregator.class);
+
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile("nonexistent.txt", aggregator));
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile(createFile("hay").toString(), null));
+    }
+
+    @Test
+    @DisplayName("processTextFile should produce the same results as ConcurrentFileProcessor for any chunk size and context")
+    void processTextFile_shouldMatchConcurrentFileProcessor() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append(i % 7 == 0 ? "hay with a needle ünïcödé 😀 " : "plain hay ").append(i);
+            content.append(i % 5 == 0 ? "\r\n" : i % 11 == 0 ? "\r" : "\n");
+        }
+        content.append("last needle without terminator");
+        Path file = createFile(content.toString());
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new ConcurrentFileProcessor(matcher, executorService, 3).processTextFile(file.toString(), aggregator);
+        Map<String, List<Location>> expected = aggregator.computeFinalResult();
+
+        for (int chunkSize : new int[]{1, 7, 64, 1 << 20}) {
+            assertEquals(expected, process(file, chunkSize, 0, 0), "chunk size " + chunkSize);
+            assertEquals(expected, process(file, chunkSize, 2, 0), "chunk size " + chunkSize);
+            assertEquals(expected, process(file, chunkSize, 0, 5), "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    @DisplayName("processTextFile should capture the lines around every match across chunks")
+    void processTextFile_shouldCaptureLineContext() throws IOException {
+        Path file = createFile("one\r\ntwo needle\nthree\rfour\nfive needle\n");
+
+        Map<String, List<Location>> result = process(file, 4, 1, 0);
+
+        assertEquals(List.of("one\r\ntwo needle\nthree", "four\nfive needle"), contexts(result.get("needle")));
+    }
+
+    @Test
+    @DisplayName("processTextFile should capture the bytes around every match, trimmed to whole characters")
+    void processTextFile_shouldCaptureByteContext() throws IOException {
+        Path file = createFile("ab😀cd needle ëf\nx needle");
+
+        assertEquals(List.of("cd needle ëf\n", "f\nx needle"), contexts(process(file, 1 << 20, 0, 5).get("needle")));
+        assertEquals(List.of("d needle ", "x needle"), contexts(process(file, 1 << 20, 0, 2).get("needle")));
+    }
+
+    @Test
+    @DisplayName("processTextFile should not capture context when none is requested")
+    void processTextFile_shouldNotCaptureContextByDefault() throws IOException {
+        Map<String, List<Location>> result = process(createFile("hay needle"), 16, 0, 0);
+
+        assertEquals(Map.of("needle", List.of(new Location(0, 4)), "hay", List.of(new Location(0, 0))), result);
+        assertNull(result.get("needle").get(0).getContext());
+        assertEquals(Map.of(), process(createFile(""), 16, 1, 0));
+    }
+}
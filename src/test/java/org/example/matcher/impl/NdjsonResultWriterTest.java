@@ -0,0 +1,78 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonResultWriterTest {
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("writeLocations should write one JSON object per match")
+    void writeLocations_shouldWriteObjectPerMatch() {
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(output), 16)) {
+            writer.writeLocations("Timothy", List.of(new Location(13387, 1018975L), new Location(13751, 1041587L)));
+        }
+
+        assertEquals("{\"term\":\"Timothy\",\"lineOffset\":13387,\"charOffset\":1018975}\n" +
+                        "{\"term\":\"Timothy\",\"lineOffset\":13751,\"charOffset\":1041587}\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writeFrequency should escape special characters in terms")
+    void writeFrequency_shouldEscapeTerms() {
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(output))) {
+            writer.writeFrequency(new TermFrequency("say \"hi\"\\\t€😀", 3, 1, 3));
+        }
+
+        assertEquals("{\"term\":\"say \\\"hi\\\"\\\\\\u0009€😀\",\"count\":3,\"lowerBound\":1,\"upperBound\":3}\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writeLocation should write the dictionary version of reloaded dictionaries only")
+    void writeLocation_shouldWriteDictionaryVersion() {
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(output))) {
+            writer.writeLocation("Jason", new Location(1, 2));
+            writer.writeLocation("Jason", new Location(3, 4, 2));
+        }
+
+        assertEquals("{\"term\":\"Jason\",\"lineOffset\":1,\"charOffset\":2}\n" +
+                        "{\"term\":\"Jason\",\"lineOffset\":3,\"charOffset\":4,\"dictionaryVersion\":2}\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writeLocation should write the escaped context of a match")
+    void writeLocation_shouldWriteContext() {
+        ByteBuffer context = ByteBuffer.wrap("a\tJörg\r\n".getBytes(StandardCharsets.UTF_8));
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(output))) {
+            writer.writeLocation("Jörg", new Location(0, 2, 1, context));
+        }
+
+        assertEquals("{\"term\":\"Jörg\",\"lineOffset\":0,\"charOffset\":2,\"dictionaryVersion\":1," +
+                        "\"context\":\"a\\tJörg\\r\\n\"}\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writePartialScan should write an object marking the results as partial")
+    void writePartialScan_shouldWritePartialObject() {
+        try (NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(output))) {
+            writer.writePartialScan(100, 400);
+        }
+
+        assertEquals("{\"partial\":true,\"scannedBytes\":100,\"fileSize\":400}\n", output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReloadableTextMatcherTest {
+
+    ReloadableTextMatcher matcher = new ReloadableTextMatcher(Set.of("hay"), false);
+
+    @AfterEach
+    void closeMatcher() {
+        matcher.close();
+    }
+
+    @Test
+    @DisplayName("findMatches should use the initial dictionary with version 0")
+    void findMatches_shouldUseInitialDictionary() {
+        assertEquals(Map.of("hay", List.of(new Location(5, 10))), matcher.findMatches(List.of("hay needle"), 5, 10));
+        assertEquals(0, matcher.getVersion());
+    }
+
+    @Test
+    @DisplayName("reload should publish a new dictionary whose matches record its version")
+    void reload_shouldPublishNewVersion() {
+        assertEquals(1, matcher.reload(Set.of("needle")).join());
+        assertEquals(2, matcher.reload(Set.of("needle", "hay")).join());
+
+        assertEquals(Map.of("needle", List.of(new Location(0, 4, 2)), "hay", List.of(new Location(0, 0, 2))),
+                matcher.findMatches(List.of("hay needle"), 0, 0));
+        assertEquals(2, matcher.getVersion());
+    }
+
+    @Test
+    @DisplayName("reload should keep the current dictionary and version when the new one cannot be built")
+    void reload_shouldKeepCurrentDictionaryOnFailure() {
+        assertThrows(CompletionException.class, () -> matcher.reload(Set.of(" ")).join());
+
+        assertEquals(Map.of("hay", List.of(new Location(0, 0))), matcher.findMatches(List.of("hay needle"), 0, 0));
+        assertEquals(0, matcher.getVersion());
+        assertEquals(1, matcher.reload(Set.of("needle")).join());
+    }
+}
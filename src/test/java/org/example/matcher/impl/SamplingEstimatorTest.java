@@ -0,0 +1,117 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.TermFrequency;
+import org.example.matcher.TextMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SamplingEstimatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    TextMatcher matcher = new AhoCorasickTextMatcher(Set.of("needle", "hay", "missing"), false);
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Creates a file with 20,000 lines where every line contains "hay" and every tenth line "needle".
+     */
+    Path createFile() throws IOException {
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            content.append("x".repeat(random.nextInt(20))).append(" hay ");
+            content.append(i % 10 == 0 ? "needle\n" : "straw\r\n");
+        }
+        Path file = tempDir.resolve("haystack.txt");
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SamplingEstimator(null, executorService, 16, 0.5, 0, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SamplingEstimator(matcher, null, 16, 0.5, 0, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SamplingEstimator(matcher, executorService, 0, 0.5, 0, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SamplingEstimator(matcher, executorService, 16, 0, 0, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SamplingEstimator(matcher, executorService, 16, 1.5, 0, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SamplingEstimator(matcher, executorService, 16, 0.5, 1, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SamplingEstimator(matcher, executorService, 16, 0.5, 0, 1, 0));
+    }
+
+    @Test
+    @DisplayName("estimate should throw IllegalArgumentException for non-existing file")
+    void estimate_shouldThrowForNonExistingFile() {
+        SamplingEstimator estimator = new SamplingEstimator(matcher, executorService, 16, 0.5, 0, 1, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> estimator.estimate("nonexistent.txt"));
+    }
+
+    @Test
+    @DisplayName("estimate should return exact counts when every chunk is sampled")
+    void estimate_shouldReturnExactCountsForFullSample() throws IOException {
+        List<TermFrequency> estimates =
+                new SamplingEstimator(matcher, executorService, 1000, 1, 0, 7, 10).estimate(createFile().toString());
+
+        assertEquals(List.of(new TermFrequency("hay", 20000), new TermFrequency("needle", 2000)), estimates);
+    }
+
+    @Test
+    @DisplayName("estimate should extrapolate a partial sample with bounds containing the true count")
+    void estimate_shouldBoundTrueCountsForPartialSample() throws IOException {
+        List<TermFrequency> estimates =
+                new SamplingEstimator(matcher, executorService, 1000, 0.2, 0, 7, 10).estimate(createFile().toString());
+
+        assertEquals(2, estimates.size());
+        assertBounds(estimates.get(0), "hay", 20000);
+        assertBounds(estimates.get(1), "needle", 2000);
+    }
+
+    @Test
+    @DisplayName("estimate should stop sampling early once the target error is reached")
+    void estimate_shouldStopAtTargetError() throws IOException {
+        List<TermFrequency> estimates =
+                new SamplingEstimator(matcher, executorService, 1000, 1, 0.2, 7, 10).estimate(createFile().toString());
+
+        assertBounds(estimates.get(0), "hay", 20000);
+        assertBounds(estimates.get(1), "needle", 2000);
+        assertFalse(estimates.get(1).isExact());
+        assertTrue(estimates.get(1).getUpperBound() - estimates.get(1).getLowerBound() <= 2 * 0.2 * 2000 + 2);
+    }
+
+    @Test
+    @DisplayName("estimate should handle empty files")
+    void estimate_shouldHandleEmptyFile() throws IOException {
+        Path file = Files.createFile(tempDir.resolve("empty.txt"));
+
+        assertEquals(List.of(), new SamplingEstimator(matcher, executorService, 16, 0.5, 0, 7, 10).estimate(file.toString()));
+    }
+
+    static void assertBounds(TermFrequency estimate, String term, long trueCount) {
+        assertEquals(term, estimate.getTerm());
+        assertTrue(estimate.getLowerBound() <= trueCount && trueCount <= estimate.getUpperBound(), estimate.toString());
+    }
+}
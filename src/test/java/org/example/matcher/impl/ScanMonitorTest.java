@@ -0,0 +1,204 @@
+package org.example.matcher.impl;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.example.matcher.Location;
+import org.example.matcher.TextMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScanMonitorTest {
+
+    ScanMonitor<Map<String, List<Location>>> monitor;
+
+    @AfterEach
+    void closeMonitor() {
+        if (monitor != null) {
+            monitor.close();
+        }
+    }
+
+    static CompletableFuture<Map<String, List<Location>>> chunk(int lineOffset) {
+        return CompletableFuture.completedFuture(Map.of("term", List.of(new Location(lineOffset, lineOffset * 10L))));
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() {
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+
+        assertThrows(IllegalArgumentException.class, () -> new ScanMonitor<>(null, 10, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScanMonitor<>(aggregator, -2, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScanMonitor<>(aggregator, 10, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScanMonitor<>(aggregator, 10, 0, -1));
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should wait for all chunks when the deadline is not reached")
+    void computeFinalResult_shouldAggregateAllChunks() {
+        monitor = new ScanMonitor<>(new IncrementalResultAggregator(), 30, 60000, 3600_000);
+        CompletableFuture<Map<String, List<Location>>> second = new CompletableFuture<>();
+        monitor.aggregateResults(chunk(0), 10);
+        monitor.aggregateResults(second, 20);
+        monitor.aggregateResults(chunk(2), 30);
+        CompletableFuture.runAsync(() -> second.complete(Map.of("term", List.of(new Location(1, 10)))));
+
+        Map<String, List<Location>> result = monitor.computeFinalResult();
+
+        assertEquals(3, result.get("term").size());
+        assertFalse(monitor.isPartial());
+        assertEquals(30, monitor.getReachedOffset());
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should only aggregate the completed prefix of the file at the deadline")
+    void computeFinalResult_shouldAggregateCompletedPrefixAtDeadline() {
+        monitor = new ScanMonitor<>(new IncrementalResultAggregator(), 30, 200, 0);
+        CompletableFuture<Map<String, List<Location>>> stalled = new CompletableFuture<>();
+        monitor.aggregateResults(chunk(0), 10);
+        monitor.aggregateResults(stalled, 20);
+        monitor.aggregateResults(chunk(2), 30);
+
+        Map<String, List<Location>> result = monitor.computeFinalResult();
+
+        assertEquals(Map.of("term", List.of(new Location(0, 0))), result);
+        assertTrue(monitor.isPartial());
+        assertEquals(10, monitor.getReachedOffset());
+        assertTrue(stalled.isCancelled());
+    }
+
+    @Test
+    @DisplayName("aggregateResults and the cancellable matcher should reject work after the deadline")
+    void aggregateResults_shouldRejectChunksAfterDeadline() throws InterruptedException {
+        TextMatcher termMatcher = new AhoCorasickTextMatcher(Set.of("term"), false);
+        monitor = new ScanMonitor<>(new IncrementalResultAggregator(), 30, 50, 0);
+        TextMatcher matcher = monitor.cancellable(termMatcher);
+        assertEquals(1, matcher.findMatches(List.of("a term"), 0, 0).size());
+
+        Thread.sleep(200);
+
+        assertThrows(CancellationException.class, () -> monitor.aggregateResults(chunk(0), 10));
+        assertThrows(CancellationException.class, () -> matcher.findMatches(List.of("a term"), 0, 0));
+        assertEquals(Map.of(), monitor.computeFinalResult());
+        assertTrue(monitor.isPartial());
+    }
+
+    @Test
+    @DisplayName("onDeadline should run the action when the deadline passes during the scan")
+    void onDeadline_shouldRunActionAtDeadline() throws InterruptedException {
+        CountDownLatch stopped = new CountDownLatch(1);
+        monitor = new ScanMonitor<>(new IncrementalResultAggregator(), ScanMonitor.UNKNOWN_SIZE, 200, 0);
+        monitor.onDeadline(stopped::countDown);
+        monitor.aggregateResults(new CompletableFuture<>(), 10);
+
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertTrue(monitor.isPartial());
+    }
+
+    @Test
+    @DisplayName("isPartial should be true for a stream of unknown size cut off by the deadline")
+    void isPartial_shouldBeTrueForStreamCutOffAtDeadline() {
+        monitor = new ScanMonitor<>(new IncrementalResultAggregator(), ScanMonitor.UNKNOWN_SIZE, 200, 0);
+        monitor.aggregateResults(chunk(0), 10);
+        monitor.aggregateResults(new CompletableFuture<>(), 20);
+
+        assertEquals(Map.of("term", List.of(new Location(0, 0))), monitor.computeFinalResult());
+        assertTrue(monitor.isPartial());
+        assertEquals(10, monitor.getReachedOffset());
+    }
+
+    @Test
+    @DisplayName("reportProgress should log the scanned bytes and their share of a known size")
+    void reportProgress_shouldLogScannedBytes() {
+        Logger logger = (Logger) LoggerFactory.getLogger(ScanMonitor.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+        try (ScanMonitor<Map<String, List<Location>>> stream =
+                     new ScanMonitor<>(new IncrementalResultAggregator(), ScanMonitor.UNKNOWN_SIZE, 0, 3600_000)) {
+            monitor = new ScanMonitor<>(new IncrementalResultAggregator(), 40, 0, 3600_000);
+            monitor.aggregateResults(chunk(0), 10);
+            monitor.reportProgress();
+            stream.aggregateResults(chunk(0), 10);
+            stream.reportProgress();
+        } finally {
+            logger.detachAppender(appender);
+            logger.setAdditive(true);
+        }
+
+        assertEquals(2, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("Scanned 10 B of 40 B (25%), "));
+        assertTrue(appender.list.get(1).getFormattedMessage().startsWith("Scanned 10 B, "));
+    }
+
+    @Test
+    @DisplayName("aggregateResults should let the delegate merge a chunk without holding the monitor")
+    void aggregateResults_shouldMergeOutsideMonitor() throws InterruptedException {
+        CountDownLatch merging = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        monitor = new ScanMonitor<>(new IncrementalResultAggregator() {
+            @Override
+            protected void merge(Map<String, List<Location>> partialResult) {
+                merging.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.merge(partialResult);
+            }
+        }, 20, 0, 0);
+        CompletableFuture<Map<String, List<Location>>> first = new CompletableFuture<>();
+        monitor.aggregateResults(first, 10);
+        CompletableFuture.runAsync(() -> first.complete(chunk(0).join()));
+        assertTrue(merging.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Map<String, List<Location>>> second = new CompletableFuture<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertEquals(10, monitor.getReachedOffset());
+            monitor.aggregateResults(second, 20);
+            monitor.reportProgress();
+        });
+        release.countDown();
+        second.complete(chunk(1).join());
+
+        assertEquals(2, monitor.computeFinalResult().get("term").size());
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should throw IllegalStateException if a chunk fails")
+    void computeFinalResult_shouldThrowForFailedChunk() {
+        monitor = new ScanMonitor<>(new IncrementalResultAggregator(), 20, 0, 0);
+        monitor.aggregateResults(chunk(0), 10);
+        monitor.aggregateResults(CompletableFuture.failedFuture(new IllegalStateException("broken")), 20);
+
+        assertThrows(IllegalStateException.class, monitor::computeFinalResult);
+    }
+
+    @Test
+    @DisplayName("formatBytes should use binary units")
+    void formatBytes_shouldUseBinaryUnits() {
+        assertEquals("512 B", ScanMonitor.formatBytes(512));
+        assertEquals("1.5 KB", ScanMonitor.formatBytes(1536));
+        assertEquals("2.0 GB", ScanMonitor.formatBytes(2L << 30));
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ShardWorkerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("serve should report locations relative to the shard start and the scanned range")
+    void serve_shouldScanRequestedRange() throws IOException {
+        Path file = tempDir.resolve("haystack.txt");
+        Files.write(file, "first needle\nsecond\r\nthird needle\nfourth needle\n".getBytes(StandardCharsets.UTF_8));
+        int separator = System.lineSeparator().length();
+
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        new ShardRequest(file.toString(), 13, 34, Set.of("needle"), false, 1, 2).writeTo(request);
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        ShardWorker.serve(new ByteArrayInputStream(request.toByteArray()), response);
+
+        Map<String, List<Location>> matches = new HashMap<>();
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(response.toByteArray()))) {
+            while (reader.next() == BinaryResultReader.RecordType.LOCATION) {
+                matches.computeIfAbsent(reader.getTerm(), term -> new ArrayList<>()).add(reader.getLocation());
+            }
+            assertEquals(2, reader.getScannedLines());
+            assertEquals(6 + 12 + 2 * separator, reader.getScannedChars());
+            assertNull(reader.next());
+        }
+        assertEquals(Map.of("needle", List.of(new Location(1, 6 + separator + 6))), matches);
+    }
+}
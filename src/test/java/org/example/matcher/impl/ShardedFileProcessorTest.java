@@ -0,0 +1,262 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.example.matcher.WorkerLauncher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ShardedFileProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    Set<String> searchTerms = Set.of("needle", "hay");
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    AtomicInteger launched = new AtomicInteger();
+    WorkerLauncher launcher = () -> {
+        launched.incrementAndGet();
+        return new InProcessWorker();
+    };
+
+    @AfterEach
+    void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    Path createFile() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            lines.add(i % 7 == 0 ? "hay with a needle ünïcödé " + i : "plain hay " + i);
+        }
+        Path file = tempDir.resolve("haystack.txt");
+        Files.write(file, lines);
+        return file;
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardedFileProcessor(null, executorService, searchTerms, false, 2, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardedFileProcessor(launcher, null, searchTerms, false, 2, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardedFileProcessor(launcher, executorService, Set.of(), false, 2, 1, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardedFileProcessor(launcher, executorService, searchTerms, false, 0, 1, 10));
+    }
+
+    @Test
+    @DisplayName("processTextFile should throw IllegalArgumentException for non-existing file or null aggregator")
+    void processTextFile_shouldThrowForInvalidArguments() throws IOException {
+        ShardedFileProcessor processor = new ShardedFileProcessor(launcher, executorService, searchTerms, false, 2, 1, 10);
+        ResultAggregator<?> aggregator = mock(ResultAggregator.class);
+
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile("nonexistent.txt", aggregator));
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile(createFile().toString(), null));
+    }
+
+    @Test
+    @DisplayName("processTextFile should produce the same results as a single process scan")
+    void processTextFile_shouldMatchSingleProcessScan() throws IOException {
+        Path file = createFile();
+        TextMatcher matcher = new AhoCorasickTextMatcher(searchTerms, false);
+        IncrementalResultAggregator expected = new IncrementalResultAggregator();
+        new ConcurrentFileProcessor(matcher, executorService, 100).processTextFile(file.toString(), expected);
+
+        IncrementalResultAggregator actual = new IncrementalResultAggregator();
+        new ShardedFileProcessor(launcher, executorService, searchTerms, false, 7, 2, 33)
+                .processTextFile(file.toString(), actual);
+
+        Map<String, List<Location>> expectedResult = expected.computeFinalResult();
+        assertEquals(expectedResult, actual.computeFinalResult());
+        assertEquals(7, launched.get());
+    }
+
+    @Test
+    @DisplayName("processTextFile should launch fewer workers than shards for small files")
+    void processTextFile_shouldSkipEmptyShards() throws IOException {
+        Path file = tempDir.resolve("small.txt");
+        Files.writeString(file, "needle\nhay\n");
+
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new ShardedFileProcessor(launcher, executorService, searchTerms, false, 10, 1, 10)
+                .processTextFile(file.toString(), aggregator);
+
+        assertEquals(2, launched.get());
+        assertEquals(List.of(new Location(1, 6 + System.lineSeparator().length())), aggregator.computeFinalResult().get("hay"));
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should throw IllegalStateException when a worker fails")
+    void computeFinalResult_shouldThrowWhenWorkerFails() throws IOException {
+        WorkerLauncher failingLauncher = () -> new InProcessWorker() {
+            @Override
+            void serve(InputStream in, OutputStream out) throws IOException {
+                in.readAllBytes();
+                out.close();
+                throw new IOException("Simulated failure");
+            }
+        };
+
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new ShardedFileProcessor(failingLauncher, executorService, searchTerms, false, 2, 1, 10)
+                .processTextFile(createFile().toString(), aggregator);
+
+        assertThrows(IllegalStateException.class, aggregator::computeFinalResult);
+    }
+
+    @Test
+    @DisplayName("processTextFile should destroy all workers when one of them fails")
+    void processTextFile_shouldDestroyWorkersWhenOneFails() throws IOException, InterruptedException {
+        CountDownLatch destroyed = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        WorkerLauncher mixedLauncher = () -> started.getAndIncrement() == 0
+                ? new InProcessWorker() {
+                    @Override
+                    void serve(InputStream in, OutputStream out) throws IOException {
+                        in.readAllBytes();
+                        throw new IOException("Simulated failure");
+                    }
+                }
+                : new InProcessWorker() {
+                    @Override
+                    void serve(InputStream in, OutputStream out) throws IOException {
+                        in.readAllBytes();
+                        try {
+                            destroyed.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    @Override
+                    public void destroy() {
+                        destroyed.countDown();
+                        super.destroy();
+                    }
+                };
+
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new ShardedFileProcessor(mixedLauncher, executorService, searchTerms, false, 2, 1, 10)
+                .processTextFile(createFile().toString(), aggregator);
+
+        assertTrue(destroyed.await(10, TimeUnit.SECONDS));
+        assertThrows(IllegalStateException.class, aggregator::computeFinalResult);
+    }
+
+    @Test
+    @DisplayName("processTextFile should split files with carriage return line terminators like a single process scan")
+    void processTextFile_shouldSplitCarriageReturnLines() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append(i % 7 == 0 ? "hay with a needle " + i : "plain hay " + i).append("\r");
+        }
+        Path file = tempDir.resolve("carriage-return.txt");
+        Files.writeString(file, text);
+        TextMatcher matcher = new AhoCorasickTextMatcher(searchTerms, false);
+        IncrementalResultAggregator expected = new IncrementalResultAggregator();
+        new ConcurrentFileProcessor(matcher, executorService, 100).processTextFile(file.toString(), expected);
+
+        IncrementalResultAggregator actual = new IncrementalResultAggregator();
+        new ShardedFileProcessor(launcher, executorService, searchTerms, false, 5, 1, 33)
+                .processTextFile(file.toString(), actual);
+
+        assertEquals(expected.computeFinalResult(), actual.computeFinalResult());
+        assertEquals(5, launched.get());
+    }
+
+    /**
+     * Runs {@link ShardWorker} on a separate thread of the test JVM, connected through pipes.
+     */
+    static class InProcessWorker extends Process {
+
+        private final PipedOutputStream stdin = new PipedOutputStream();
+        private final PipedInputStream stdout = new PipedInputStream(1 << 16);
+        private final PipedOutputStream out = new PipedOutputStream(stdout);
+        private final CompletableFuture<Integer> exitCode;
+
+        InProcessWorker() throws IOException {
+            PipedInputStream in = new PipedInputStream(stdin, 1 << 16);
+            exitCode = CompletableFuture.supplyAsync(() -> {
+                try (out) {
+                    serve(in, out);
+                    return 0;
+                } catch (IOException | RuntimeException e) {
+                    return 1;
+                }
+            }, Executors.newSingleThreadExecutor());
+        }
+
+        void serve(InputStream in, OutputStream out) throws IOException {
+            ShardWorker.serve(in, out);
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return stdin;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return stdout;
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public int waitFor() throws InterruptedException {
+            try {
+                return exitCode.get();
+            } catch (ExecutionException e) {
+                return 1;
+            }
+        }
+
+        @Override
+        public int exitValue() {
+            return exitCode.getNow(1);
+        }
+
+        @Override
+        public void destroy() {
+            exitCode.cancel(true);
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Like the output of a killed process, the pipe ends here.
+            }
+        }
+    }
+}
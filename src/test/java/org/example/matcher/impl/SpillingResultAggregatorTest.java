@@ -0,0 +1,185 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultWriter;
+import org.example.matcher.TermFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpillingResultAggregatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    Map<String, List<Location>> collect(SpilledResult result) {
+        Map<String, List<Location>> locations = new LinkedHashMap<>();
+        result.writeTo(new ResultWriter() {
+            @Override
+            public void writeLocation(String term, Location location) {
+                locations.computeIfAbsent(term, k -> new ArrayList<>()).add(location);
+            }
+
+            @Override
+            public void writeFrequency(TermFrequency frequency) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void writePartialScan(long scannedBytes, long fileSize) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        return locations;
+    }
+
+    long runFileCount() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SpillingResultAggregator(1, tempDir));
+        assertThrows(IllegalArgumentException.class, () -> new SpillingResultAggregator(1 << 20, tempDir.resolve("missing")));
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should keep small results in memory")
+    void computeFinalResult_shouldNotSpillSmallResults() throws IOException {
+        SpillingResultAggregator aggregator = new SpillingResultAggregator(1 << 20, tempDir);
+        aggregator.aggregateResults(CompletableFuture.completedFuture(Map.of("b", List.of(new Location(3, 30), new Location(1, 10)))));
+        aggregator.aggregateResults(CompletableFuture.completedFuture(Map.of("b", List.of(new Location(2, 20, 1)))));
+
+        try (SpilledResult result = aggregator.computeFinalResult()) {
+            assertEquals(0, result.getRunCount());
+            assertEquals(Map.of("b", List.of(new Location(1, 10), new Location(2, 20, 1), new Location(3, 30))),
+                    collect(result));
+        }
+        assertEquals(0, runFileCount());
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should merge spilled runs into ordered locations per term")
+    void computeFinalResult_shouldMergeSpilledRuns() throws IOException {
+        Random random = new Random(42);
+        Map<String, List<Location>> expected = new LinkedHashMap<>();
+        SpillingResultAggregator aggregator = new SpillingResultAggregator(4096, tempDir);
+        for (int chunk = 0; chunk < 100; chunk++) {
+            Map<String, List<Location>> partialResult = new LinkedHashMap<>();
+            for (int i = 0; i < 10; i++) {
+                String term = "term" + random.nextInt(5);
+                int line = random.nextInt(1_000_000);
+                Location location = new Location(line, line * 100L + random.nextInt(100));
+                partialResult.computeIfAbsent(term, k -> new ArrayList<>()).add(location);
+                expected.computeIfAbsent(term, k -> new ArrayList<>()).add(location);
+            }
+            aggregator.aggregateResults(CompletableFuture.completedFuture(partialResult));
+        }
+        expected.values().forEach(locations -> locations.sort(IncrementalResultAggregator.BY_OFFSET));
+
+        try (SpilledResult result = aggregator.computeFinalResult()) {
+            assertTrue(result.getRunCount() < SpillingResultAggregator.MAX_MERGE_WIDTH);
+            assertEquals(expected, collect(result));
+            assertEquals(expected, collect(result));
+        }
+        assertEquals(0, runFileCount());
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should keep every location when chunks complete concurrently while spilling")
+    void computeFinalResult_shouldMergeConcurrentChunks() throws IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        SpillingResultAggregator aggregator = new SpillingResultAggregator(50L * LocationBuffer.BYTES_PER_LOCATION, tempDir);
+        for (int chunk = 0; chunk < 200; chunk++) {
+            int line = chunk;
+            aggregator.aggregateResults(CompletableFuture.supplyAsync(() -> Map.of(
+                    "a", List.of(new Location(line, line * 10L), new Location(line, line * 10L + 5)),
+                    "b", List.of(new Location(line, line * 10L + 1))), executorService));
+        }
+
+        try (SpilledResult result = aggregator.computeFinalResult()) {
+            Map<String, List<Location>> locations = collect(result);
+            assertEquals(400, locations.get("a").size());
+            assertEquals(200, locations.get("b").size());
+            assertEquals(new Location(199, 1995), locations.get("a").get(399));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("merge should count the search terms against the memory budget")
+    void merge_shouldCountTermsAgainstBudget() throws IOException {
+        SpillingResultAggregator aggregator = new SpillingResultAggregator(100L * LocationBuffer.BYTES_PER_LOCATION, tempDir);
+        Map<String, List<Location>> partialResult = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            partialResult.put("term " + "x".repeat(100) + i, List.of(new Location(i, i * 10L)));
+        }
+        aggregator.aggregateResults(CompletableFuture.completedFuture(partialResult));
+
+        try (SpilledResult result = aggregator.computeFinalResult()) {
+            assertTrue(result.getRunCount() > 0);
+            assertEquals(partialResult, collect(result));
+        }
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should throw IllegalStateException and delete all runs when a chunk fails")
+    void computeFinalResult_shouldThrowForFailedChunk() throws IOException {
+        SpillingResultAggregator aggregator = new SpillingResultAggregator(4L * LocationBuffer.BYTES_PER_LOCATION, tempDir);
+        Map<String, List<Location>> partialResult = Map.of("a", List.of(new Location(0, 0), new Location(1, 10),
+                new Location(2, 20), new Location(3, 30), new Location(4, 40)));
+        aggregator.aggregateResults(CompletableFuture.completedFuture(partialResult));
+        assertTrue(runFileCount() > 0);
+
+        aggregator.aggregateResults(CompletableFuture.failedFuture(new RuntimeException("failed")));
+        assertEquals(0, runFileCount());
+        aggregator.aggregateResults(CompletableFuture.completedFuture(partialResult));
+        assertEquals(0, runFileCount());
+
+        assertThrows(IllegalStateException.class, aggregator::computeFinalResult);
+        assertEquals(0, runFileCount());
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should delete all runs when a deferred chunk fails")
+    void computeFinalResult_shouldDeleteRunsForFailedDeferredChunk() throws IOException {
+        SpillingResultAggregator aggregator = new SpillingResultAggregator(4L * LocationBuffer.BYTES_PER_LOCATION, tempDir);
+        aggregator.aggregateResults(CompletableFuture.completedFuture(Map.of("a", List.of(new Location(0, 0),
+                new Location(1, 10), new Location(2, 20), new Location(3, 30), new Location(4, 40)))));
+        FutureTask<Map<String, List<Location>>> deferred = new FutureTask<>(() -> {
+            throw new IOException("failed");
+        });
+        deferred.run();
+        aggregator.aggregateResults(deferred);
+        assertTrue(runFileCount() > 0);
+
+        assertThrows(IllegalStateException.class, aggregator::computeFinalResult);
+        assertEquals(0, runFileCount());
+    }
+}
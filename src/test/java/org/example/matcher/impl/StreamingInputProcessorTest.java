@@ -0,0 +1,253 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.ResultAggregator;
+import org.example.matcher.TextMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+class StreamingInputProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    TextMatcher matcher = new AhoCorasickTextMatcher(Set.of("needle", "hay"), false);
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    static String createText() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            text.append(i % 7 == 0 ? "hay with a needle ünïcödé " + i : "plain hay " + i);
+            if (i % 50 == 0) {
+                text.append(" and a very long line ".repeat(20)).append("needle");
+            }
+            text.append(i % 3 == 0 ? "\r\n" : i % 5 == 0 ? "\r" : "\n");
+        }
+        return text.append("needle at the end without terminator").toString();
+    }
+
+    static ReadableByteChannel channelOf(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid arguments")
+    void constructor_shouldThrowForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingInputProcessor(null, executorService, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingInputProcessor(matcher, null, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingInputProcessor(matcher, executorService, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingInputProcessor(matcher, executorService, 1, 0));
+    }
+
+    @Test
+    @DisplayName("processTextFile should throw IllegalArgumentException for non-existing file or null aggregator")
+    void processTextFile_shouldThrowForInvalidArguments() {
+        StreamingInputProcessor processor = new StreamingInputProcessor(matcher, executorService, 16, 2);
+        ResultAggregator<?> aggregator = mock(ResultAggregator.class);
+
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile("nonexistent.txt", aggregator));
+        assertThrows(IllegalArgumentException.class, () -> processor.processTextFile("-", null));
+    }
+
+    @Test
+    @DisplayName("isStream should accept standard input but neither regular nor missing files nor directories")
+    void isStream_shouldDetectStreams() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("regular.txt"), "hay");
+
+        assertTrue(StreamingInputProcessor.isStream("-"));
+        assertFalse(StreamingInputProcessor.isStream(file.toString()));
+        assertFalse(StreamingInputProcessor.isStream(tempDir.resolve("missing.txt").toString()));
+        assertFalse(StreamingInputProcessor.isStream(tempDir.toString()));
+    }
+
+    @Test
+    @DisplayName("isStream should accept named pipes and character devices")
+    void isStream_shouldAcceptPipesAndDevices() throws Exception {
+        Path pipe = tempDir.resolve("pipe");
+        assumeTrue(new ProcessBuilder("mkfifo", pipe.toString()).start().waitFor() == 0);
+
+        assertTrue(StreamingInputProcessor.isStream(pipe.toString()));
+        assertTrue(StreamingInputProcessor.isStream("/dev/null"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 16, 100, 1 << 20})
+    @DisplayName("processStream should find the same matches as reading the file for any block size")
+    void processStream_shouldMatchFileProcessing(int blockSize) throws IOException {
+        String text = createText();
+        Path file = tempDir.resolve("haystack.txt");
+        Files.writeString(file, text);
+        BasicResultAggregator expected = new BasicResultAggregator();
+        new ConcurrentFileProcessor(matcher, executorService, 10).processTextFile(file.toString(), expected);
+
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        new StreamingInputProcessor(matcher, executorService, blockSize, 3).processStream(channelOf(text), aggregator);
+
+        Map<String, List<Location>> result = aggregator.computeFinalResult();
+        assertEquals(expected.computeFinalResult(), result);
+        List<Location> needles = result.get("needle");
+        assertEquals(500, needles.get(needles.size() - 1).getLineOffset());
+    }
+
+    @Test
+    @DisplayName("processStream should stop reading while the maximum number of blocks is buffered")
+    void processStream_shouldBoundBufferedBlocks() throws InterruptedException {
+        TextMatcher lineMatcher = new AhoCorasickTextMatcher(Set.of("hhhhhhhhh"), false);
+        CountDownLatch release = new CountDownLatch(1);
+        TextMatcher blockedMatcher = (lines, lineOffset, charOffset) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return lineMatcher.findMatches(lines, lineOffset, charOffset);
+        };
+        AtomicLong bytesRead = new AtomicLong();
+        ReadableByteChannel endless = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                long position = bytesRead.get();
+                int length = (int) Math.min(dst.remaining(), 200_000 - position);
+                if (length == 0) {
+                    return -1;
+                }
+                for (int i = 0; i < length; i++) {
+                    dst.put((byte) ((position + i) % 10 == 9 ? '\n' : 'h'));
+                }
+                bytesRead.addAndGet(length);
+                return length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        StreamingInputProcessor processor = new StreamingInputProcessor(blockedMatcher, executorService, 1000, 2);
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        Thread reader = new Thread(() -> processor.processStream(endless, aggregator));
+        reader.start();
+
+        Thread.sleep(300);
+        assertTrue(bytesRead.get() <= 2000, "Read " + bytesRead.get() + " bytes");
+        release.countDown();
+        reader.join(TimeUnit.SECONDS.toMillis(30));
+
+        assertEquals(200_000, bytesRead.get());
+        assertEquals(20_000, aggregator.computeFinalResult().get("hhhhhhhhh").size());
+    }
+
+    @Test
+    @DisplayName("processStream should match the lines of an idle stream and throw CancellationException when stopped")
+    void processStream_shouldMatchIdleStreamUntilStopped() throws Exception {
+        Pipe pipe = Pipe.open();
+        pipe.sink().write(StandardCharsets.UTF_8.encode("hay\nneedle\n"));
+        CountDownLatch matched = new CountDownLatch(1);
+        TextMatcher signallingMatcher = (lines, lineOffset, charOffset) -> {
+            Map<String, List<Location>> matches = matcher.findMatches(lines, lineOffset, charOffset);
+            matched.countDown();
+            return matches;
+        };
+        StreamingInputProcessor processor = new StreamingInputProcessor(signallingMatcher, executorService, 1 << 20, 2);
+        IncrementalResultAggregator aggregator = new IncrementalResultAggregator();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                processor.processStream(pipe.source(), aggregator);
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+
+        try {
+            assertTrue(matched.await(5, TimeUnit.SECONDS));
+            processor.stop();
+            reader.join(TimeUnit.SECONDS.toMillis(5));
+        } finally {
+            pipe.sink().close();
+        }
+
+        assertFalse(reader.isAlive());
+        assertTrue(failure.get() instanceof CancellationException, "Failed with " + failure.get());
+        assertEquals(List.of(new Location(1, 3 + System.lineSeparator().length())),
+                aggregator.computeFinalResult().get("needle"));
+    }
+
+    @Test
+    @DisplayName("BlockReader should cut blocks after their last line terminator and grow blocks for long lines")
+    void blockReader_shouldCutBlocksAtLineEnds() throws IOException {
+        StreamingInputProcessor.BlockReader reader =
+                new StreamingInputProcessor.BlockReader(channelOf("ab\ncd\nefghijklmn\nopqrstuvwxyz\nz"), 4);
+
+        assertEquals("ab\n", next(reader));
+        assertEquals("cd\n", next(reader));
+        assertEquals("efghijklmn\n", next(reader));
+        assertEquals("opqrstuvwxyz\n", next(reader));
+        assertEquals("z", next(reader));
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("BlockReader should cut blocks after carriage returns once the next byte is read")
+    void blockReader_shouldCutBlocksAtCarriageReturns() throws IOException {
+        StreamingInputProcessor.BlockReader reader =
+                new StreamingInputProcessor.BlockReader(channelOf("ab\rcd\r\nef\r"), 4);
+
+        assertEquals("ab\r", next(reader));
+        assertEquals("cd\r\n", next(reader));
+        assertEquals("ef\r", next(reader));
+        assertNull(reader.next());
+
+        reader = new StreamingInputProcessor.BlockReader(channelOf("ab\r\ncd"), 3);
+
+        assertEquals("ab\r\n", next(reader));
+        assertEquals("cd", next(reader));
+        assertNull(reader.next());
+    }
+
+    private static String next(StreamingInputProcessor.BlockReader reader) throws IOException {
+        return StandardCharsets.UTF_8.decode(reader.next()).toString();
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class StreamingResultAggregatorTest {
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    NdjsonResultWriter writer = new NdjsonResultWriter(Channels.newChannel(output));
+    StreamingResultAggregator aggregator = new StreamingResultAggregator(writer);
+
+    String written() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for null writer")
+    void constructor_shouldThrowForNullWriter() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingResultAggregator(null));
+    }
+
+    @Test
+    @DisplayName("aggregateResults should write chunks in order as soon as all preceding chunks complete")
+    void aggregateResults_shouldWriteCompletedPrefix() {
+        CompletableFuture<Map<String, List<Location>>> first = new CompletableFuture<>();
+        CompletableFuture<Map<String, List<Location>>> second = new CompletableFuture<>();
+        aggregator.aggregateResults(first);
+        aggregator.aggregateResults(second);
+
+        second.complete(Map.of("b", List.of(new Location(2, 20))));
+        assertEquals("", written());
+
+        first.complete(Map.of("b", List.of(new Location(1, 10)), "a", List.of(new Location(0, 0), new Location(1, 10))));
+        assertEquals("{\"term\":\"a\",\"lineOffset\":0,\"charOffset\":0}\n" +
+                "{\"term\":\"a\",\"lineOffset\":1,\"charOffset\":10}\n" +
+                "{\"term\":\"b\",\"lineOffset\":1,\"charOffset\":10}\n" +
+                "{\"term\":\"b\",\"lineOffset\":2,\"charOffset\":20}\n", written());
+        assertEquals(4L, aggregator.computeFinalResult());
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should throw IllegalStateException if a chunk fails")
+    void computeFinalResult_shouldThrowForFailedChunk() {
+        aggregator.aggregateResults(CompletableFuture.failedFuture(new IllegalStateException("broken")));
+        aggregator.aggregateResults(CompletableFuture.completedFuture(Map.of("a", List.of(new Location(0, 0)))));
+
+        assertThrows(IllegalStateException.class, aggregator::computeFinalResult);
+        assertEquals("", written());
+    }
+
+    @Test
+    @DisplayName("aggregateResults should reject plain futures and results after the final computation")
+    void aggregateResults_shouldRejectInvalidResults() {
+        Future<Map<String, List<Location>>> future = mock();
+
+        assertThrows(IllegalArgumentException.class, () -> aggregator.aggregateResults(future));
+        assertEquals(0L, aggregator.computeFinalResult());
+        assertThrows(IllegalStateException.class,
+                () -> aggregator.aggregateResults(CompletableFuture.completedFuture(Map.of())));
+    }
+}
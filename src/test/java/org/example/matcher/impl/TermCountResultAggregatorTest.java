@@ -0,0 +1,82 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TermCountResultAggregatorTest {
+
+    TermCountResultAggregator aggregator = new TermCountResultAggregator(2);
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for non-positive limit")
+    void constructor_shouldThrowForInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new TermCountResultAggregator(0));
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should count matches from completed and plain futures")
+    void computeFinalResult_shouldCountMatches() throws Exception {
+        Future<Map<String, List<Location>>> future = mock();
+        when(future.get()).thenReturn(Map.of("a", List.of(new Location(0, 0)), "b", List.of(new Location(0, 2))));
+
+        aggregator.aggregateResults(CompletableFuture.completedFuture(
+                Map.of("a", List.of(new Location(1, 5), new Location(2, 9)))));
+        aggregator.aggregateResults(future);
+
+        assertEquals(List.of(new TermFrequency("a", 3), new TermFrequency("b", 1)), aggregator.computeFinalResult());
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should keep only the most frequent terms when merging across threads")
+    void computeFinalResult_shouldReturnTopTermsAcrossThreads() {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 100; i++) {
+            aggregator.aggregateResults(CompletableFuture.supplyAsync(() -> Map.of(
+                    "common", List.of(new Location(0, 0), new Location(0, 1)),
+                    "frequent", List.of(new Location(0, 3)),
+                    "rare", List.of()), executorService));
+        }
+
+        List<TermFrequency> result = aggregator.computeFinalResult();
+        executorService.shutdown();
+
+        assertEquals(List.of(new TermFrequency("common", 200), new TermFrequency("frequent", 100)), result);
+        assertTrue(result.stream().allMatch(TermFrequency::isExact));
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should throw IllegalStateException when a chunk failed")
+    void computeFinalResult_shouldThrowOnFailedChunk() throws Exception {
+        Future<Map<String, List<Location>>> future = mock();
+        when(future.get()).thenThrow(new ExecutionException(new RuntimeException("Test")));
+
+        aggregator.aggregateResults(future);
+
+        assertThrows(IllegalStateException.class, aggregator::computeFinalResult);
+    }
+
+    @Test
+    @DisplayName("aggregateResults should throw IllegalStateException after final computation")
+    void aggregateResults_shouldThrowAfterFinalComputation() {
+        aggregator.computeFinalResult();
+
+        assertThrows(IllegalStateException.class,
+                () -> aggregator.aggregateResults(CompletableFuture.completedFuture(Map.of())));
+    }
+}
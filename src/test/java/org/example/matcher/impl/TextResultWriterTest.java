@@ -0,0 +1,130 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TextResultWriterTest {
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for null channel or tiny buffer")
+    void constructor_shouldThrowForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TextResultWriter(null));
+        assertThrows(IllegalArgumentException.class, () -> new TextResultWriter(Channels.newChannel(output), 1));
+    }
+
+    @Test
+    @DisplayName("writeLocations should group locations of a term on one line")
+    void writeLocations_shouldGroupLocationsPerTerm() {
+        try (TextResultWriter writer = new TextResultWriter(Channels.newChannel(output), 16)) {
+            writer.writeLocations("Timothy", List.of(new Location(13387, 1018975L), new Location(13751, 1041587L)));
+            writer.writeLocation("Jason", new Location(15404, 1137363L));
+        }
+
+        assertEquals("--------------------------------\n" +
+                        "Timothy         ---> [[lineOffset=13387, charOffset=1018975], [lineOffset=13751, charOffset=1041587]]\n" +
+                        "Jason           ---> [[lineOffset=15404, charOffset=1137363]]\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writeFrequency should print bounds only for estimated counts")
+    void writeFrequency_shouldPrintBoundsForEstimates() {
+        try (TextResultWriter writer = new TextResultWriter(Channels.newChannel(output))) {
+            writer.writeFrequency(new TermFrequency("Jason", 1214, 1190, 1214));
+            writer.writeFrequency(new TermFrequency("Jörg", 7));
+        }
+
+        assertEquals("--------------------------------\n" +
+                        "Jason           ---> 1214 [1190, 1214]\n" +
+                        "Jörg            ---> 7\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("close should report that there were no matches")
+    void close_shouldReportNoMatches() {
+        new TextResultWriter(Channels.newChannel(output)).close();
+
+        assertEquals("--------------------------------\nNo matches.\n", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writeLocations should print the dictionary version of reloaded dictionaries only")
+    void writeLocations_shouldPrintDictionaryVersion() {
+        try (TextResultWriter writer = new TextResultWriter(Channels.newChannel(output))) {
+            writer.writeLocations("Jason", List.of(new Location(1, 2), new Location(3, 4, 1)));
+        }
+
+        assertEquals("--------------------------------\n" +
+                        "Jason           ---> [[lineOffset=1, charOffset=2], [lineOffset=3, charOffset=4, dictionaryVersion=1]]\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("writeLocations should print the escaped context of a match")
+    void writeLocations_shouldPrintContext() {
+        ByteBuffer context = ByteBuffer.wrap("one\ntwo \"Jason\"".getBytes(StandardCharsets.UTF_8));
+        try (TextResultWriter writer = new TextResultWriter(Channels.newChannel(output))) {
+            writer.writeLocations("Jason", List.of(new Location(1, 9, 0, context)));
+        }
+
+        assertEquals("--------------------------------\n" +
+                        "Jason           ---> [[lineOffset=1, charOffset=9, context=\"one\\ntwo \\\"Jason\\\"\"]]\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("close should state how much of the file was scanned for partial results")
+    void close_shouldReportPartialScan() {
+        try (TextResultWriter writer = new TextResultWriter(Channels.newChannel(output))) {
+            writer.writeFrequency(new TermFrequency("Jason", 3));
+            writer.writePartialScan(100, 400);
+        }
+
+        assertEquals("--------------------------------\n" +
+                        "Jason           ---> 3\n" +
+                        "Partial result: scanned the first 100 of 400 bytes.\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("close should omit the size of a stream of unknown size for partial results")
+    void close_shouldReportPartialScanOfStream() {
+        try (TextResultWriter writer = new TextResultWriter(Channels.newChannel(output))) {
+            writer.writeFrequency(new TermFrequency("Jason", 3));
+            writer.writePartialScan(100, -1);
+        }
+
+        assertEquals("--------------------------------\n" +
+                        "Jason           ---> 3\n" +
+                        "Partial result: scanned the first 100 bytes.\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("flush should write buffered output before the writer is closed")
+    void flush_shouldWriteBufferedOutput() {
+        try (TextResultWriter writer = new TextResultWriter(Channels.newChannel(output))) {
+            writer.writeFrequency(new TermFrequency("Jason", 3));
+            assertEquals(0, output.size());
+
+            writer.flush();
+
+            assertEquals("--------------------------------\n" +
+                    "Jason           ---> 3\n", output.toString(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.matcher.impl;
+
+import org.example.matcher.Location;
+import org.example.matcher.TermFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopTermsResultAggregatorTest {
+
+    static Map<String, List<Location>> partialResult(String term, int count) {
+        return Map.of(term, Collections.nCopies(count, new Location(0, 0)));
+    }
+
+    @Test
+    @DisplayName("constructor should throw IllegalArgumentException for invalid limit or capacity")
+    void constructor_shouldThrowForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TopTermsResultAggregator(0));
+        assertThrows(IllegalArgumentException.class, () -> new TopTermsResultAggregator(10, 5));
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should return exact counts while the sketch has spare capacity")
+    void computeFinalResult_shouldBeExactBelowCapacity() {
+        TopTermsResultAggregator aggregator = new TopTermsResultAggregator(2, 10);
+        aggregator.aggregateResults(CompletableFuture.completedFuture(partialResult("a", 5)));
+        aggregator.aggregateResults(CompletableFuture.completedFuture(partialResult("b", 3)));
+        aggregator.aggregateResults(CompletableFuture.completedFuture(partialResult("c", 1)));
+
+        assertEquals(List.of(new TermFrequency("a", 5), new TermFrequency("b", 3)), aggregator.computeFinalResult());
+    }
+
+    @Test
+    @DisplayName("computeFinalResult should bound the true counts of heavy hitters in a long tail")
+    void computeFinalResult_shouldBoundHeavyHitters() {
+        TopTermsResultAggregator aggregator = new TopTermsResultAggregator(3, 30);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        Map<String, Integer> trueCounts = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            String term = i % 4 == 0 ? "heavy" + (i % 3) : "tail" + random.nextInt(500);
+            trueCounts.merge(term, 1, Integer::sum);
+            aggregator.aggregateResults(CompletableFuture.supplyAsync(() -> partialResult(term, 1), executorService));
+        }
+
+        List<TermFrequency> result = aggregator.computeFinalResult();
+        executorService.shutdown();
+
+        assertEquals(3, result.size());
+        for (TermFrequency frequency : result) {
+            assertTrue(frequency.getTerm().startsWith("heavy"));
+            long trueCount = trueCounts.get(frequency.getTerm());
+            assertTrue(frequency.getLowerBound() <= trueCount && trueCount <= frequency.getUpperBound());
+        }
+    }
+}